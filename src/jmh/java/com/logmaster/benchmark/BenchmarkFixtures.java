@@ -0,0 +1,163 @@
+package com.logmaster.benchmark;
+
+import com.google.gson.stream.JsonWriter;
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskCatalogSnapshot;
+import com.logmaster.domain.TaskPointer;
+import com.logmaster.domain.TaskTier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic task catalogs and save data for the benchmarks, generated from a
+ * fixed seed so runs can be compared. The services are wired up around them
+ * with {@link com.logmaster.headless.HeadlessServices}.
+ */
+final class BenchmarkFixtures
+{
+	static final long SEED = 0x4C4D;
+
+	private static final TaskTier[] TIERS = TaskTier.values();
+
+	private BenchmarkFixtures()
+	{
+	}
+
+	/**
+	 * Builds a catalog with the tasks spread evenly over the tiers. Several tasks share
+	 * each item and description, as they do in the real task list.
+	 * @param size the total number of tasks
+	 */
+	static TaskCatalog catalog(int size)
+	{
+		Random random = new Random(SEED);
+		int itemCount = Math.max(1, size / 4);
+		TaskCatalog.Builder builder = new TaskCatalog.Builder();
+		for (int i = 0; i < size; i++)
+		{
+			TaskTier tier = TIERS[i % TIERS.length];
+			int itemId = 1 + random.nextInt(itemCount);
+			builder.add(tier, i / TIERS.length, itemId, "Get the item " + itemId + " from the collection log");
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Builds save data with every easy task complete and about half of the other tasks, with
+	 * the first uncompleted master task active
+	 */
+	static SaveData saveData(TaskCatalog catalog)
+	{
+		Random random = new Random(SEED);
+		SaveData saveData = new SaveData();
+		for (TaskTier tier : TIERS)
+		{
+			for (int i = 0; i < catalog.size(tier); i++)
+			{
+				boolean complete = tier == TaskTier.EASY || random.nextBoolean();
+				saveData.getProgress().setComplete(tier, catalog.getTaskId(tier, i), complete);
+			}
+		}
+
+		for (int i = 0; i < catalog.size(TaskTier.MASTER); i++)
+		{
+			if (!saveData.getProgress().isComplete(TaskTier.MASTER, catalog.getTaskId(TaskTier.MASTER, i)))
+			{
+				TaskPointer pointer = new TaskPointer();
+				pointer.setTaskTier(TaskTier.MASTER);
+				pointer.setTask(catalog.getTask(TaskTier.MASTER, i));
+				saveData.setActiveTaskPointer(pointer);
+				break;
+			}
+		}
+		return saveData;
+	}
+
+	/**
+	 * Writes the catalog in the format of default-tasks.json
+	 */
+	static String json(TaskCatalog catalog)
+	{
+		StringWriter out = new StringWriter();
+		try (JsonWriter json = new JsonWriter(out))
+		{
+			json.beginObject();
+			for (TaskTier tier : TIERS)
+			{
+				json.name(tier.name().toLowerCase(Locale.ROOT)).beginArray();
+				for (int i = 0; i < catalog.size(tier); i++)
+				{
+					json.beginObject()
+						.name("id").value(catalog.getTaskId(tier, i))
+						.name("description").value(catalog.getDescription(tier, i))
+						.name("itemID").value(catalog.getItemId(tier, i))
+						.endObject();
+				}
+				json.endArray();
+			}
+			json.endObject();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Writes the catalog in the format produced by the compileTaskCatalog task
+	 */
+	static byte[] snapshot(TaskCatalog catalog)
+	{
+		List<String> descriptions = new ArrayList<>();
+		Map<String, Integer> descriptionIndex = new HashMap<>();
+		for (TaskTier tier : TIERS)
+		{
+			for (int i = 0; i < catalog.size(tier); i++)
+			{
+				descriptionIndex.computeIfAbsent(catalog.getDescription(tier, i), d -> {
+					descriptions.add(d);
+					return descriptions.size() - 1;
+				});
+			}
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			out.writeInt(TaskCatalogSnapshot.MAGIC);
+			out.writeInt(TaskCatalogSnapshot.VERSION);
+			out.writeInt(descriptions.size());
+			for (String description : descriptions)
+			{
+				out.writeUTF(description);
+			}
+			for (TaskTier tier : TIERS)
+			{
+				out.writeInt(catalog.size(tier));
+				for (int i = 0; i < catalog.size(tier); i++)
+				{
+					out.writeInt(catalog.getTaskId(tier, i));
+					out.writeInt(catalog.getItemId(tier, i));
+					out.writeInt(descriptionIndex.get(catalog.getDescription(tier, i)));
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+}
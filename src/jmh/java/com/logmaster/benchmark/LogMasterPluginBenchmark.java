@@ -0,0 +1,65 @@
+package com.logmaster.benchmark;
+
+import com.logmaster.LogMasterPlugin;
+import com.logmaster.domain.Task;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogMasterPluginBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	private int catalogSize;
+
+	private LogMasterPlugin plugin;
+
+	@Setup
+	public void setUp()
+	{
+		TaskCatalog catalog = BenchmarkFixtures.catalog(catalogSize);
+		plugin = new HeadlessServices(catalog, BenchmarkFixtures.saveData(catalog)).getPlugin();
+		plugin.getCurrentTier();
+	}
+
+	@Benchmark
+	public List<Task> findAvailableTasks()
+	{
+		return plugin.findAvailableTasks();
+	}
+
+	@Benchmark
+	public TaskTier getCurrentTier()
+	{
+		return plugin.getCurrentTier();
+	}
+
+	/**
+	 * Looks the tier up again, as happens after every completed task
+	 */
+	@Benchmark
+	public TaskTier getCurrentTierAfterInvalidate()
+	{
+		plugin.invalidateCurrentTier();
+		return plugin.getCurrentTier();
+	}
+}
@@ -0,0 +1,65 @@
+package com.logmaster.benchmark;
+
+import com.google.gson.reflect.TypeToken;
+import com.logmaster.domain.SaveData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import static net.runelite.http.api.RuneLiteAPI.GSON;
+
+/**
+ * The JSON conversions SaveDataManager performs on every load and save, using the same Gson instance
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveDataBenchmark
+{
+	private static final Type SAVE_DATA_TYPE = new TypeToken<SaveData>() {}.getType();
+
+	@Param({"1000", "10000", "100000"})
+	private int catalogSize;
+
+	private SaveData saveData;
+	private String json;
+
+	@Setup
+	public void setUp()
+	{
+		saveData = BenchmarkFixtures.saveData(BenchmarkFixtures.catalog(catalogSize));
+		json = GSON.toJson(saveData);
+	}
+
+	@Benchmark
+	public String write()
+	{
+		return GSON.toJson(saveData);
+	}
+
+	@Benchmark
+	public SaveData read()
+	{
+		return GSON.fromJson(json, SAVE_DATA_TYPE);
+	}
+
+	@Benchmark
+	public SaveData roundTrip()
+	{
+		return GSON.fromJson(GSON.toJson(saveData), SAVE_DATA_TYPE);
+	}
+}
@@ -0,0 +1,93 @@
+package com.logmaster.benchmark;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.headless.HeadlessUi;
+import com.logmaster.headless.HeadlessWidget;
+import com.logmaster.ui.component.TabManager;
+import com.logmaster.ui.component.TaskDashboard;
+import com.logmaster.ui.component.TaskList;
+import com.logmaster.ui.generic.MutationBuffer;
+import com.logmaster.ui.generic.WidgetPool;
+import net.runelite.api.widgets.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.logmaster.ui.InterfaceConstants.COLLECTION_LOG_WINDOW_HEIGHT;
+import static com.logmaster.ui.InterfaceConstants.COLLECTION_LOG_WINDOW_WIDTH;
+
+/**
+ * Switching between two tier tabs through their menu actions, including the
+ * frame's flush, against headless widgets
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TabSwitchBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	private int catalogSize;
+
+	private MutationBuffer mutationBuffer;
+	private HeadlessWidget hardTab;
+	private HeadlessWidget eliteTab;
+	private boolean showingHard;
+
+	@Setup
+	public void setUp()
+	{
+		TaskCatalog catalog = BenchmarkFixtures.catalog(catalogSize);
+		HeadlessServices services = new HeadlessServices(catalog, BenchmarkFixtures.saveData(catalog));
+		HeadlessUi ui = services.getUi();
+		Widget window = ui.createWindow(COLLECTION_LOG_WINDOW_WIDTH, COLLECTION_LOG_WINDOW_HEIGHT);
+
+		mutationBuffer = new MutationBuffer();
+		WidgetPool widgetPool = new WidgetPool(mutationBuffer);
+		TaskDashboard taskDashboard = new TaskDashboard(services.getPlugin(), services.getConfig(), window, services.getTaskService(), services.getSaveDataManager(), widgetPool);
+		TaskList taskList = new TaskList(window, services.getTaskService(), services.getPlugin(), services.getClientThread(), services.getSaveDataManager(), widgetPool, services.getDiagnostics());
+		TabManager tabManager = new TabManager(window, services.getConfig(), services.getSaveDataManager(), widgetPool);
+		tabManager.setComponents(taskDashboard, taskList);
+		tabManager.updateTabs();
+		tabManager.activateTaskDashboard();
+		mutationBuffer.flush();
+
+		hardTab = ui.findAction(window, tabAction(TaskTier.HARD));
+		eliteTab = ui.findAction(window, tabAction(TaskTier.ELITE));
+	}
+
+	@Benchmark
+	public int switchTier()
+	{
+		showingHard = !showingHard;
+		if (showingHard)
+		{
+			hardTab.selectAction(tabAction(TaskTier.HARD));
+		}
+		else
+		{
+			eliteTab.selectAction(tabAction(TaskTier.ELITE));
+		}
+		mutationBuffer.flush();
+		return mutationBuffer.getAppliedProperties();
+	}
+
+	private static String tabAction(TaskTier tier)
+	{
+		return String.format("View <col=ff9040>%s Task List</col>", tier.displayName);
+	}
+}
@@ -0,0 +1,124 @@
+package com.logmaster.benchmark;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.ui.component.TaskList;
+import com.logmaster.ui.generic.MutationBuffer;
+import com.logmaster.ui.generic.WidgetPool;
+import net.runelite.api.widgets.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computing and flushing the task list tiles against headless widgets, see
+ * {@link com.logmaster.headless.HeadlessUi}, so only the plugin's own work is
+ * measured. Each benchmark returns the number of widgets written to by the refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListBenchmark
+{
+	// The collection log's task list area, which fits four rows of tasks
+	private static final int WINDOW_WIDTH = 480;
+	private static final int WINDOW_HEIGHT = 252;
+	private static final int PAGE_ROWS = 4;
+
+	@Param({"1000", "10000", "100000"})
+	private int catalogSize;
+
+	private TaskList taskList;
+	private MutationBuffer mutationBuffer;
+	private int scrollRows;
+	private int scrolled;
+	private int direction = 1;
+
+	@Setup
+	public void setUp()
+	{
+		TaskCatalog catalog = BenchmarkFixtures.catalog(catalogSize);
+		HeadlessServices services = new HeadlessServices(catalog, BenchmarkFixtures.saveData(catalog));
+		Widget window = services.getUi().createWindow(WINDOW_WIDTH, WINDOW_HEIGHT);
+
+		mutationBuffer = new MutationBuffer();
+		taskList = new TaskList(window, services.getTaskService(), services.getPlugin(), services.getClientThread(),
+			services.getSaveDataManager(), new WidgetPool(mutationBuffer), services.getDiagnostics());
+		taskList.setVisibility(true);
+		taskList.updateBounds();
+		mutationBuffer.flush();
+
+		// The selected tier defaults to master
+		scrollRows = catalog.size(TaskTier.MASTER) - PAGE_ROWS;
+	}
+
+	/**
+	 * Scrolls a row at a time, down to the bottom of the list and back up
+	 */
+	@Benchmark
+	public int scrollOneRow()
+	{
+		if (scrolled == scrollRows || (scrolled == 0 && direction < 0))
+		{
+			direction = -direction;
+		}
+		scrolled += direction;
+		return refresh(direction);
+	}
+
+	/**
+	 * Scrolls by a whole page, so every visible tile is bound to a new task
+	 */
+	@Benchmark
+	public int scrollOnePage()
+	{
+		if (scrolled + PAGE_ROWS > scrollRows)
+		{
+			scrolled = 0;
+			taskList.goToTop();
+		}
+		scrolled += PAGE_ROWS;
+		return refresh(PAGE_ROWS);
+	}
+
+	/**
+	 * Refreshes without scrolling, where nothing should need to be written
+	 */
+	@Benchmark
+	public int refreshUnchanged()
+	{
+		return refresh(0);
+	}
+
+	/**
+	 * Lays the whole page out again, as happens when the interface is resized
+	 */
+	@Benchmark
+	public int updateBounds()
+	{
+		taskList.updateBounds();
+		mutationBuffer.flush();
+		return taskList.getLastRefreshMutations();
+	}
+
+	private int refresh(int rows)
+	{
+		taskList.refreshTasks(rows);
+		mutationBuffer.flush();
+		return taskList.getLastRefreshMutations();
+	}
+}
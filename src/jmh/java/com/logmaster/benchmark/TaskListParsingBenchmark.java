@@ -0,0 +1,60 @@
+package com.logmaster.benchmark;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskCatalogSnapshot;
+import com.logmaster.task.TaskListDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a task list, from JSON in the format of default-tasks.json
+ * and from the binary snapshot compiled from it at build time
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListParsingBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	private int catalogSize;
+
+	private String json;
+	private byte[] snapshot;
+
+	@Setup
+	public void setUp()
+	{
+		TaskCatalog catalog = BenchmarkFixtures.catalog(catalogSize);
+		json = BenchmarkFixtures.json(catalog);
+		snapshot = BenchmarkFixtures.snapshot(catalog);
+	}
+
+	@Benchmark
+	public TaskCatalog decodeJson() throws IOException
+	{
+		return TaskListDecoder.decode(new StringReader(json));
+	}
+
+	@Benchmark
+	public TaskCatalog readSnapshot() throws IOException
+	{
+		return TaskCatalogSnapshot.read(new ByteArrayInputStream(snapshot));
+	}
+}
@@ -0,0 +1,81 @@
+package com.logmaster.benchmark;
+
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.task.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskServiceBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	private int catalogSize;
+
+	private TaskService taskService;
+	private SaveData saveData;
+	private SaveData otherSaveData;
+	private int toggledTaskId;
+	private boolean swapped;
+
+	@Setup
+	public void setUp()
+	{
+		TaskCatalog catalog = BenchmarkFixtures.catalog(catalogSize);
+		saveData = BenchmarkFixtures.saveData(catalog);
+		otherSaveData = BenchmarkFixtures.saveData(catalog);
+		taskService = new HeadlessServices(catalog, saveData).getTaskService();
+		toggledTaskId = catalog.getTaskId(TaskTier.HARD, catalog.size(TaskTier.HARD) / 2);
+		taskService.completionPercentages(saveData);
+	}
+
+	/**
+	 * The usual case, the counts were already built for this save data
+	 */
+	@Benchmark
+	public Map<TaskTier, Integer> completionPercentages()
+	{
+		return taskService.completionPercentages(saveData);
+	}
+
+	/**
+	 * Alternates between two save data instances, so every call rebuilds the
+	 * counts, the available task pool and the task states, as after a profile change
+	 */
+	@Benchmark
+	public Map<TaskTier, Integer> completionPercentagesAfterSaveSwap()
+	{
+		swapped = !swapped;
+		return taskService.completionPercentages(swapped ? otherSaveData : saveData);
+	}
+
+	/**
+	 * Marks and unmarks a task, keeping every derived structure in step
+	 */
+	@Benchmark
+	public int toggleTask()
+	{
+		taskService.setTaskComplete(TaskTier.HARD, toggledTaskId, true);
+		taskService.setTaskComplete(TaskTier.HARD, toggledTaskId, false);
+		return taskService.getCompletionPercentage(TaskTier.HARD);
+	}
+}
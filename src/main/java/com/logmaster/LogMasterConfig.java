@@ -76,6 +76,39 @@ public interface LogMasterConfig extends Config
     {
         return true;
     }
+
+    @ConfigItem(
+            keyName = "smoothScrolling",
+            name = "Smooth scrolling",
+            description = "Ease the task list to a stop when scrolling quickly with the mouse wheel, instead of jumping straight to the new position",
+            position = 6
+    )
+    default boolean smoothScrolling()
+    {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "showDiagnostics",
+            name = "Show diagnostics",
+            description = "Show how long the plugin's busiest operations take, for troubleshooting performance. The timings restart whenever this is turned on, and a summary is logged when the plugin stops",
+            position = 7
+    )
+    default boolean showDiagnostics()
+    {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "autoCompleteTasks",
+            name = "Complete tasks automatically",
+            description = "Mark your current task as complete when its item is newly added to your collection log",
+            position = 8
+    )
+    default boolean autoCompleteTasks()
+    {
+        return false;
+    }
 //
 //    @ConfigItem(
 //            keyName = "taskChatCommand",
@@ -1,21 +1,29 @@
 package com.logmaster;
 
 import com.google.inject.Provides;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.diagnostics.HotPath;
 import com.logmaster.domain.Task;
 import com.logmaster.domain.TaskPointer;
 import com.logmaster.domain.TaskTier;
-import com.logmaster.domain.TieredTaskList;
+import com.logmaster.domain.TaskCatalog;
 import com.logmaster.persistence.SaveDataManager;
+import com.logmaster.task.AvailableTaskPool;
+import com.logmaster.task.CollectionLogWatcher;
 import com.logmaster.task.TaskService;
 import com.logmaster.ui.InterfaceManager;
+import com.logmaster.ui.component.DiagnosticsOverlay;
 import com.logmaster.ui.component.TaskOverlay;
+import com.logmaster.util.BackgroundExecutor;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.SoundEffectID;
-import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.WidgetClosed;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.InterfaceID;
@@ -25,6 +33,7 @@ import net.runelite.client.chat.ChatCommandManager;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.events.RuneScapeProfileChanged;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.SpriteManager;
 import net.runelite.client.input.MouseManager;
@@ -41,7 +50,8 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.io.File;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @PluginDescriptor(
@@ -71,6 +81,12 @@ public class LogMasterPlugin extends Plugin {
 	@Inject
 	protected TaskOverlay taskOverlay;
 
+	@Inject
+	private DiagnosticsOverlay diagnosticsOverlay;
+
+	@Inject
+	private Diagnostics diagnostics;
+
 	@Inject
 	private OverlayManager overlayManager;
 
@@ -89,21 +105,38 @@ public class LogMasterPlugin extends Plugin {
 	@Inject
 	private ItemManager itemManager;
 
+	@Inject
+	private BackgroundExecutor backgroundExecutor;
+
+	@Inject
+	private CollectionLogWatcher collectionLogWatcher;
+
 	private Map<Integer, Integer> chatSpriteMap = new HashMap<>();
 
 	private File playerFile;
 
+	// Set once the work skipped at startup has been handed to the background thread
+	private final AtomicBoolean deferredStarted = new AtomicBoolean();
+
+	// Resolved lazily and cleared whenever progress, the task list or the hideBelow setting changes
+	private TaskTier currentTier;
+	private TaskCatalog currentTierTaskList;
+
 	@Override
 	protected void startUp() throws Exception
 	{
+		long start = diagnostics.start();
 		mouseManager.registerMouseWheelListener(interfaceManager);
 		mouseManager.registerMouseListener(interfaceManager);
-		interfaceManager.initialise();
 		this.taskOverlay.setResizable(true);
 		this.overlayManager.add(this.taskOverlay);
-		this.taskService.getTaskList();
+		this.overlayManager.add(this.diagnosticsOverlay);
+		// The sprites and task list are only needed once the player is in game
+		if (client.getGameState() == GameState.LOGGED_IN) {
+			startDeferred();
+		}
+		diagnostics.stop(HotPath.STARTUP, start);
 		// TODO when task save data can be stored and access externally; populate this with other people's data
-//		this.clientThread.invoke(this::populateChatSpriteMap);
 //		chatCommandManager.registerCommandAsync(TASK_CHAT_COMMAND, this::getTaskCommandData);
 	}
 
@@ -112,6 +145,14 @@ public class LogMasterPlugin extends Plugin {
 		mouseManager.unregisterMouseWheelListener(interfaceManager);
 		mouseManager.unregisterMouseListener(interfaceManager);
 		this.overlayManager.remove(this.taskOverlay);
+		this.overlayManager.remove(this.diagnosticsOverlay);
+		clientThread.invoke(interfaceManager::dispose);
+		saveDataManager.flush();
+		backgroundExecutor.shutdown();
+		deferredStarted.set(false);
+		if (config.showDiagnostics()) {
+			diagnostics.logSnapshot();
+		}
 	}
 
 	@Subscribe
@@ -119,21 +160,43 @@ public class LogMasterPlugin extends Plugin {
 		if (!event.getGroup().equals("log-master")) {
 			return;
 		}
-		interfaceManager.updateAfterConfigChange();
+		// Start the timers afresh, so the overlay shows what happens from now on rather than since startup
+		if (event.getKey().equals("showDiagnostics") && config.showDiagnostics()) {
+			diagnostics.reset();
+		}
+		// Config changes are posted from whichever thread made them, usually the config panel's
+		clientThread.invoke(() -> {
+			if (event.getKey().equals("hideBelow") || event.getKey().equals("loadRemoteTaskList")) {
+				invalidateCurrentTier();
+			}
+			interfaceManager.updateAfterConfigChange();
+		});
 	}
 
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged gameStateChanged) {
 		if (gameStateChanged.getGameState() == GameState.LOGGED_IN) {
+			startDeferred();
 			saveDataManager.getSaveData();
 		} else if(gameStateChanged.getGameState().equals(GameState.LOGIN_SCREEN)) {
-			saveDataManager.save();
+			saveDataManager.invalidate();
+		} else if(gameStateChanged.getGameState() == GameState.HOPPING) {
+			saveDataManager.flush();
 		}
 	}
 
+	@Subscribe
+	public void onRuneScapeProfileChanged(RuneScapeProfileChanged e) {
+		saveDataManager.invalidate();
+		invalidateCurrentTier();
+	}
+
 	@Subscribe
 	public void onWidgetLoaded(WidgetLoaded e) {
 		if(e.getGroupId() == InterfaceID.COLLECTION_LOG) {
+			// The sprites can't wait for the deferred load, the interface built below uses them straight away
+			interfaceManager.initialise();
+			startDeferred();
 			interfaceManager.handleCollectionLogOpen();
 		}
 	}
@@ -149,12 +212,40 @@ public class LogMasterPlugin extends Plugin {
     public void onScriptPostFired(ScriptPostFired scriptPostFired) {
         if (scriptPostFired.getScriptId() == COLLECTION_LOG_SETUP_SCRIPT_ID) {
             interfaceManager.handleCollectionLogScriptRan();
+            collectionLogWatcher.onCollectionLogPage();
         }
     }
 
 	@Subscribe
-	public void onGameTick(GameTick event) {
-		interfaceManager.updateTaskListBounds();
+	public void onChatMessage(ChatMessage chatMessage) {
+		collectionLogWatcher.onChatMessage(chatMessage);
+	}
+
+	@Subscribe
+	public void onGameTick(GameTick gameTick) {
+		collectionLogWatcher.onGameTick();
+	}
+
+	@Subscribe
+	public void onBeforeRender(BeforeRender event) {
+		interfaceManager.handleBeforeRender();
+	}
+
+	/**
+	 * Loads the sprite overrides and the task list on the background thread, the first
+	 * time the player logs in or opens the collection log. Anything which needs them
+	 * before then loads them itself, whichever gets there first wins.
+	 */
+	private void startDeferred() {
+		if (!deferredStarted.compareAndSet(false, true)) {
+			return;
+		}
+		backgroundExecutor.execute(() -> {
+			long start = diagnostics.start();
+			interfaceManager.initialise();
+			taskService.getTaskList();
+			diagnostics.stop(HotPath.DEFERRED_STARTUP, start);
+		});
 	}
 
 	public void generateTask() {
@@ -164,24 +255,22 @@ public class LogMasterPlugin extends Plugin {
 		}
 
 		this.client.playSoundEffect(SoundEffectID.UI_BOOP);
-		List<Task> uniqueTasks = findAvailableTasks();
+		TaskTier tier = getCurrentTier();
+		AvailableTaskPool availableTasks = taskService.getAvailableTasks();
 
-		if(uniqueTasks.size() <= 0) {
+		if(availableTasks.getRemainingCount(tier) <= 0) {
 			client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "No more tasks left. Looks like you win?", "");
 			playFailSound();
 
 			return;
 		}
 
-		int index = (int) Math.floor(Math.random()*uniqueTasks.size());
-
-
 		TaskPointer newTaskPointer = new TaskPointer();
-		newTaskPointer.setTask(uniqueTasks.get(index));
-		newTaskPointer.setTaskTier(getCurrentTier());
-		this.saveDataManager.getSaveData().setActiveTaskPointer(newTaskPointer);
+		newTaskPointer.setTask(availableTasks.getRandom(tier, ThreadLocalRandom.current()));
+		newTaskPointer.setTaskTier(tier);
+		taskService.setActiveTask(newTaskPointer);
 		this.saveDataManager.save();
-		interfaceManager.rollTask(this.saveDataManager.getSaveData().getActiveTaskPointer().getTask().getDescription(), this.saveDataManager.getSaveData().getActiveTaskPointer().getTask().getItemID(), config.rollPastCompleted() ? taskService.getForTier(getCurrentTier()) : uniqueTasks);
+		interfaceManager.rollTask(this.saveDataManager.getSaveData().getActiveTaskPointer().getTask().getDescription(), this.saveDataManager.getSaveData().getActiveTaskPointer().getTask().getItemID(), config.rollPastCompleted() ? taskService.getForTier(tier) : new ArrayList<>(availableTasks.asList(tier)));
 		log.debug("Task generated: "+this.saveDataManager.getSaveData().getActiveTaskPointer().getTask().getDescription());
 
 		this.saveDataManager.save();
@@ -194,8 +283,9 @@ public class LogMasterPlugin extends Plugin {
 	public void completeTask(int taskID, TaskTier tier) {
 		this.client.playSoundEffect(SoundEffectID.UI_BOOP);
 
-		if (saveDataManager.getSaveData().getProgress().get(tier).contains(taskID)) {
-			saveDataManager.getSaveData().getProgress().get(tier).remove(taskID);
+		if (saveDataManager.getSaveData().getProgress().isComplete(tier, taskID)) {
+			taskService.setTaskComplete(tier, taskID, false);
+			invalidateCurrentTier();
 		} else {
 			addCompletedTask(taskID, tier);
 			if (saveDataManager.getSaveData().getActiveTaskPointer() != null && taskID == saveDataManager.getSaveData().getActiveTaskPointer().getTask().getId()) {
@@ -206,8 +296,17 @@ public class LogMasterPlugin extends Plugin {
 		interfaceManager.completeTask();
 	}
 
+	/**
+	 * Clears the active task and updates everything which depends on progress after it was completed automatically
+	 */
+	public void afterActiveTaskCompleted() {
+		invalidateCurrentTier();
+		nullCurrentTask();
+		interfaceManager.updateTaskProgress();
+	}
+
 	public void nullCurrentTask() {
-		this.saveDataManager.getSaveData().setActiveTaskPointer(null);
+		taskService.setActiveTask(null);
 		this.saveDataManager.save();
 		interfaceManager.clearCurrentTask();
 	}
@@ -221,29 +320,23 @@ public class LogMasterPlugin extends Plugin {
 	}
 
 	public void addCompletedTask(int taskID, TaskTier tier) {
-		this.saveDataManager.getSaveData().getProgress().get(tier).add(taskID);
+		taskService.setTaskComplete(tier, taskID, true);
+		invalidateCurrentTier();
 		this.saveDataManager.save();
 	}
 
 	public TaskTier getCurrentTier() {
-		TaskTier[] allTiers = TaskTier.values();
-		int firstVisibleTier = 0;
-		for (int i = 0; i < allTiers.length; i++) {
-			if (config.hideBelow() == allTiers[i]) {
-				firstVisibleTier = i;
-			}
+		TaskCatalog taskList = taskService.getTaskList();
+		if (currentTier == null || currentTierTaskList != taskList) {
+			TaskTier firstIncomplete = taskService.getProgressStats(saveDataManager.getSaveData()).getFirstIncompleteTier(config.hideBelow());
+			currentTier = firstIncomplete != null ? firstIncomplete : TaskTier.MASTER;
+			currentTierTaskList = taskList;
 		}
+		return currentTier;
+	}
 
-		Map<TaskTier, Integer> tierPercentages = taskService.completionPercentages(saveDataManager.getSaveData());
-		for (int i = firstVisibleTier; i < allTiers.length; i++) {
-			TaskTier tier = allTiers[i];
-			if (tierPercentages.get(tier) < 100) {
-				return tier;
-			}
-		}
-
-
-		return TaskTier.MASTER;
+	public void invalidateCurrentTier() {
+		currentTier = null;
 	}
 
 	public TaskTier getSelectedTier() {
@@ -251,7 +344,7 @@ public class LogMasterPlugin extends Plugin {
 	}
 
 	public List<Task> findAvailableTasks() {
-		return taskService.getTaskList().getForTier(getCurrentTier()).stream().filter(t -> !this.saveDataManager.getSaveData().getProgress().get(getCurrentTier()).contains(t.getId())).collect(Collectors.toList());
+		return new ArrayList<>(taskService.getAvailableTasks().asList(getCurrentTier()));
 	}
 
 	public void playFailSound() {
@@ -0,0 +1,132 @@
+package com.logmaster.chat;
+
+import com.logmaster.util.BackgroundExecutor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.IndexedSprite;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.util.AsyncBufferedImage;
+import net.runelite.client.util.ImageUtil;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Item icons for use in chat messages, registered as mod icons the first time
+ * each item is needed. Images are resized on a background thread and installed
+ * on the client thread. At most {@link #MAX_ICONS} mod icon slots are reserved;
+ * once they're all in use, the least recently used icon's slot is reused, so
+ * older messages showing that icon will show the new one instead.
+ */
+@Slf4j
+@Singleton
+public class ItemChatIcons {
+    static final int MAX_ICONS = 32;
+
+    private static final int ICON_WIDTH = 18;
+    private static final int ICON_HEIGHT = 16;
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private ClientThread clientThread;
+
+    @Inject
+    private ItemManager itemManager;
+
+    @Inject
+    private BackgroundExecutor executor;
+
+    // Mod icon index by item id, in least recently used order
+    private final LinkedHashMap<Integer, Integer> iconByItemId = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Callbacks waiting on icons which are still loading, by item id
+    private final Map<Integer, List<IntConsumer>> pending = new HashMap<>();
+
+    @Getter
+    private int loadCount = 0;
+
+    @Getter
+    private int evictionCount = 0;
+
+    /**
+     * Gets the mod icon index for an item, starting to load it if it isn't registered yet
+     * @param itemId the item id
+     * @param onLoaded called on the client thread with the icon index once it has
+     *                 been registered, if it isn't already. May be null.
+     * @return the mod icon index, or -1 if the icon is still loading
+     */
+    public synchronized int getIcon(int itemId, IntConsumer onLoaded) {
+        Integer index = iconByItemId.get(itemId);
+        if (index != null) {
+            return index;
+        }
+
+        List<IntConsumer> callbacks = pending.get(itemId);
+        if (callbacks == null) {
+            callbacks = new ArrayList<>();
+            pending.put(itemId, callbacks);
+            load(itemId);
+        }
+        if (onLoaded != null) {
+            callbacks.add(onLoaded);
+        }
+        return -1;
+    }
+
+    private void load(int itemId) {
+        AsyncBufferedImage image = itemManager.getImage(itemId);
+        image.onLoaded(() -> executor.execute(() -> {
+            BufferedImage resized = ImageUtil.resizeImage(image, ICON_WIDTH, ICON_HEIGHT);
+            clientThread.invoke(() -> install(itemId, resized));
+        }));
+    }
+
+    private void install(int itemId, BufferedImage image) {
+        IndexedSprite[] modIcons = client.getModIcons();
+        if (modIcons == null) {
+            // Mod icons haven't been loaded by the client yet, try again next tick
+            clientThread.invokeLater(() -> install(itemId, image));
+            return;
+        }
+        IndexedSprite sprite = ImageUtil.getImageIndexedSprite(image, client);
+
+        List<IntConsumer> callbacks;
+        int index;
+        synchronized (this) {
+            if (iconByItemId.size() < MAX_ICONS) {
+                index = modIcons.length;
+                modIcons = Arrays.copyOf(modIcons, index + 1);
+            } else {
+                Iterator<Map.Entry<Integer, Integer>> eldest = iconByItemId.entrySet().iterator();
+                index = eldest.next().getValue();
+                eldest.remove();
+                evictionCount++;
+            }
+
+            modIcons[index] = sprite;
+            iconByItemId.put(itemId, index);
+            callbacks = pending.remove(itemId);
+            loadCount++;
+        }
+
+        client.setModIcons(modIcons);
+        if (callbacks != null) {
+            for (IntConsumer callback : callbacks) {
+                callback.accept(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.logmaster.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.util.Locale;
+
+/**
+ * Timers for the plugin's hot paths. Timing a run costs two {@link System#nanoTime()}
+ * calls and nothing is allocated, so the timers are always on:
+ * <pre>
+ * long start = diagnostics.start();
+ * ...
+ * diagnostics.stop(HotPath.SAVE, start);
+ * </pre>
+ */
+@Slf4j
+@Singleton
+public class Diagnostics {
+    private static final HotPath[] HOT_PATHS = HotPath.values();
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final RollingTimer[] timers = new RollingTimer[HOT_PATHS.length];
+
+    public Diagnostics() {
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new RollingTimer();
+        }
+    }
+
+    /**
+     * @return the start time to pass to {@link #stop(HotPath, long)}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a run which began at the given start time
+     */
+    public void stop(HotPath path, long start) {
+        timers[path.ordinal()].record(System.nanoTime() - start);
+    }
+
+    public RollingTimer getTimer(HotPath path) {
+        return timers[path.ordinal()];
+    }
+
+    /**
+     * Clears every timer, done whenever the diagnostics option is turned on
+     */
+    public void reset() {
+        for (RollingTimer timer : timers) {
+            timer.reset();
+        }
+    }
+
+    /**
+     * Writes a summary of every timer to the log, for when the overlay can't be seen
+     */
+    public void logSnapshot() {
+        for (HotPath path : HOT_PATHS) {
+            RollingTimer.Summary summary = getTimer(path).summarize();
+            log.info("{}: {} runs, p50 {} ms, p99 {} ms, max {} ms, total {} ms", path.getDisplayName(), summary.getCount(),
+                    formatMillis(summary.getP50Nanos()), formatMillis(summary.getP99Nanos()),
+                    formatMillis(summary.getMaxNanos()), formatMillis(summary.getTotalNanos()));
+        }
+    }
+
+    public static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+}
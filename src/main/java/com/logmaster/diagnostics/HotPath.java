@@ -0,0 +1,24 @@
+package com.logmaster.diagnostics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The operations timed by {@link Diagnostics}
+ */
+@Getter
+@RequiredArgsConstructor
+public enum HotPath {
+    TASK_LIST_REFRESH("Task list refresh"),
+    TASK_LIST_BOUNDS("Task list layout"),
+    TASK_OVERLAY_RENDER("Task overlay"),
+    SAVE("Save"),
+    SAVE_WRITE("Save write"),
+    GET_SAVE_DATA("Get save data"),
+    COMPLETION_PERCENTAGES("Completion %"),
+    REMOTE_TASK_LIST("Remote task list"),
+    STARTUP("Plugin startup"),
+    DEFERRED_STARTUP("Deferred startup");
+
+    private final String displayName;
+}
@@ -0,0 +1,70 @@
+package com.logmaster.diagnostics;
+
+import lombok.Value;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the durations of the most recent {@link #SAMPLE_COUNT} runs of an operation in a
+ * ring, so its percentiles follow current behaviour. Recording never allocates, the
+ * percentiles are only worked out when a {@link Summary} is taken.
+ */
+public class RollingTimer {
+    public static final int SAMPLE_COUNT = 1024;
+
+    private final long[] samples = new long[SAMPLE_COUNT];
+    private final long[] sorted = new long[SAMPLE_COUNT];
+    private int next = 0;
+    private int size = 0;
+
+    private long count = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * Records a single run, may be called from any thread
+     * @param nanos how long the run took
+     */
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SAMPLE_COUNT;
+        size = Math.min(size + 1, SAMPLE_COUNT);
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * @return the run count and total since the last reset, with the percentiles of the recent runs
+     */
+    public synchronized Summary summarize() {
+        System.arraycopy(samples, 0, sorted, 0, size);
+        Arrays.sort(sorted, 0, size);
+        return new Summary(count, percentile(0.5), percentile(0.99), maxNanos, totalNanos);
+    }
+
+    public synchronized void reset() {
+        next = 0;
+        size = 0;
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    private long percentile(double fraction) {
+        if (size == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * size) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    @Value
+    public static class Summary {
+        long count;
+        long p50Nanos;
+        long p99Nanos;
+        long maxNanos;
+        long totalNanos;
+    }
+}
@@ -7,9 +7,6 @@ import lombok.Setter;
 import lombok.ToString;
 
 import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 @ToString
 public class SaveData {
@@ -21,7 +18,7 @@ public class SaveData {
 
     // New save data!
     @Getter
-    private Map<TaskTier, Set<Integer>> progress = new HashMap<>();
+    private TaskProgress progress = new TaskProgress();
 
     @Getter
     @Setter
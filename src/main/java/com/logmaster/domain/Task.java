@@ -1,8 +1,12 @@
 package com.logmaster.domain;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
+@NoArgsConstructor
+@AllArgsConstructor
 public class Task {
     private int id;
     private String description;
@@ -0,0 +1,205 @@
+package com.logmaster.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, indexed snapshot of the task list. Task data is stored per tier as parallel
+ * arrays (ids, item ids and an index into a shared, de-duplicated description table) with an
+ * id to position index per tier and a reverse index from item id to the tasks which use it.
+ * <p>
+ * Tasks are addressed by their tier and position in that tier. The item index packs both
+ * into a single int, see {@link #refTier(int)} and {@link #refIndex(int)}.
+ */
+public final class TaskCatalog {
+    private static final TaskTier[] TIERS = TaskTier.values();
+    private static final int REF_INDEX_BITS = 24;
+    private static final int REF_INDEX_MASK = (1 << REF_INDEX_BITS) - 1;
+    private static final int[] NO_REFS = new int[0];
+
+    private final String[] descriptions;
+    private final int[][] ids;
+    private final int[][] itemIds;
+    private final int[][] descriptionIndexes;
+    private final int[][] indexById;
+    private final List<Task>[] tasks;
+    private final Map<Integer, int[]> refsByItemId;
+    private final int[] distinctItemIds;
+
+    @SuppressWarnings("unchecked")
+    private TaskCatalog(Builder builder) {
+        this.descriptions = builder.descriptions.toArray(new String[0]);
+        this.ids = new int[TIERS.length][];
+        this.itemIds = new int[TIERS.length][];
+        this.descriptionIndexes = new int[TIERS.length][];
+        this.indexById = new int[TIERS.length][];
+        this.tasks = new List[TIERS.length];
+
+        Map<Integer, List<Integer>> refs = new LinkedHashMap<>();
+        for (TaskTier tier : TIERS) {
+            int t = tier.ordinal();
+            int size = builder.sizes[t];
+            ids[t] = Arrays.copyOf(builder.ids[t], size);
+            itemIds[t] = Arrays.copyOf(builder.itemIds[t], size);
+            descriptionIndexes[t] = Arrays.copyOf(builder.descriptionIndexes[t], size);
+
+            int maxId = -1;
+            for (int id : ids[t]) {
+                maxId = Math.max(maxId, id);
+            }
+            int[] byId = new int[maxId + 1];
+            Arrays.fill(byId, -1);
+
+            Task[] tierTasks = new Task[size];
+            for (int i = 0; i < size; i++) {
+                int id = ids[t][i];
+                // Keep the first occurrence should a tier contain duplicate ids
+                if (id >= 0 && byId[id] < 0) {
+                    byId[id] = i;
+                }
+                tierTasks[i] = new Task(id, descriptions[descriptionIndexes[t][i]], itemIds[t][i]);
+                refs.computeIfAbsent(itemIds[t][i], k -> new ArrayList<>()).add(ref(tier, i));
+            }
+            indexById[t] = byId;
+            tasks[t] = Collections.unmodifiableList(Arrays.asList(tierTasks));
+        }
+
+        this.refsByItemId = new HashMap<>(refs.size() * 2);
+        this.distinctItemIds = new int[refs.size()];
+        int i = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : refs.entrySet()) {
+            refsByItemId.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            distinctItemIds[i++] = entry.getKey();
+        }
+    }
+
+    public static TaskCatalog of(TieredTaskList taskList) {
+        Builder builder = new Builder();
+        for (TaskTier tier : TIERS) {
+            List<Task> tierTasks = taskList.getForTier(tier);
+            if (tierTasks == null) {
+                continue;
+            }
+            for (Task task : tierTasks) {
+                builder.add(tier, task.getId(), task.getItemID(), task.getDescription());
+            }
+        }
+        return builder.build();
+    }
+
+    public List<Task> getForTier(TaskTier tier) {
+        if (tier == null) {
+            return Collections.emptyList();
+        }
+        return tasks[tier.ordinal()];
+    }
+
+    public int size(TaskTier tier) {
+        return ids[tier.ordinal()].length;
+    }
+
+    public int getTaskId(TaskTier tier, int index) {
+        return ids[tier.ordinal()][index];
+    }
+
+    public int getItemId(TaskTier tier, int index) {
+        return itemIds[tier.ordinal()][index];
+    }
+
+    public String getDescription(TaskTier tier, int index) {
+        return descriptions[descriptionIndexes[tier.ordinal()][index]];
+    }
+
+    public Task getTask(TaskTier tier, int index) {
+        return tasks[tier.ordinal()].get(index);
+    }
+
+    /**
+     * @return the position of the task within its tier, or -1 if the tier has no task with this id
+     */
+    public int indexOf(TaskTier tier, int taskId) {
+        int[] byId = indexById[tier.ordinal()];
+        return taskId >= 0 && taskId < byId.length ? byId[taskId] : -1;
+    }
+
+    public Task getTaskById(TaskTier tier, int taskId) {
+        int index = indexOf(tier, taskId);
+        return index < 0 ? null : getTask(tier, index);
+    }
+
+    /**
+     * @return packed references to every task which uses the item, never null. Must not be modified.
+     */
+    public int[] getTaskRefsForItem(int itemId) {
+        return refsByItemId.getOrDefault(itemId, NO_REFS);
+    }
+
+    /**
+     * @return every item id used by at least one task, in catalog order. Must not be modified.
+     */
+    public int[] getDistinctItemIds() {
+        return distinctItemIds;
+    }
+
+    public int getDescriptionCount() {
+        return descriptions.length;
+    }
+
+    public static int ref(TaskTier tier, int index) {
+        return (tier.ordinal() << REF_INDEX_BITS) | index;
+    }
+
+    public static TaskTier refTier(int ref) {
+        return TIERS[ref >>> REF_INDEX_BITS];
+    }
+
+    public static int refIndex(int ref) {
+        return ref & REF_INDEX_MASK;
+    }
+
+    /**
+     * Accumulates tasks in list order, de-duplicating descriptions as they are added
+     */
+    public static class Builder {
+        private final List<String> descriptions = new ArrayList<>();
+        private final Map<String, Integer> descriptionIndex = new HashMap<>();
+        private final int[][] ids = new int[TIERS.length][16];
+        private final int[][] itemIds = new int[TIERS.length][16];
+        private final int[][] descriptionIndexes = new int[TIERS.length][16];
+        private final int[] sizes = new int[TIERS.length];
+
+        public Builder add(TaskTier tier, int id, int itemId, String description) {
+            int t = tier.ordinal();
+            int size = sizes[t];
+            if (size == ids[t].length) {
+                int capacity = size * 2;
+                ids[t] = Arrays.copyOf(ids[t], capacity);
+                itemIds[t] = Arrays.copyOf(itemIds[t], capacity);
+                descriptionIndexes[t] = Arrays.copyOf(descriptionIndexes[t], capacity);
+            }
+
+            String desc = description == null ? "" : description;
+            Integer descIndex = descriptionIndex.get(desc);
+            if (descIndex == null) {
+                descIndex = descriptions.size();
+                descriptions.add(desc);
+                descriptionIndex.put(desc, descIndex);
+            }
+
+            ids[t][size] = id;
+            itemIds[t][size] = itemId;
+            descriptionIndexes[t][size] = descIndex;
+            sizes[t] = size + 1;
+            return this;
+        }
+
+        public TaskCatalog build() {
+            return new TaskCatalog(this);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.logmaster.domain;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the binary task catalog snapshot produced at build time by the {@code compileTaskCatalog}
+ * Gradle task. The layout is:
+ * <pre>
+ * int magic, int version
+ * int descriptionCount, then descriptionCount modified UTF-8 strings
+ * for each {@link TaskTier}, in declaration order: int taskCount, then per task int id, int itemId, int descriptionIndex
+ * </pre>
+ */
+public class TaskCatalogSnapshot {
+    public static final int MAGIC = 0x4C4D5443;
+    public static final int VERSION = 1;
+
+    private TaskCatalogSnapshot() {
+    }
+
+    public static TaskCatalog read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a task catalog snapshot");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported task catalog snapshot version " + version);
+        }
+
+        String[] descriptions = new String[data.readInt()];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = data.readUTF();
+        }
+
+        TaskCatalog.Builder builder = new TaskCatalog.Builder();
+        for (TaskTier tier : TaskTier.values()) {
+            int taskCount = data.readInt();
+            for (int i = 0; i < taskCount; i++) {
+                int id = data.readInt();
+                int itemId = data.readInt();
+                int descriptionIndex = data.readInt();
+                if (descriptionIndex < 0 || descriptionIndex >= descriptions.length) {
+                    throw new IOException("Invalid description index " + descriptionIndex);
+                }
+                builder.add(tier, id, itemId, descriptions[descriptionIndex]);
+            }
+        }
+
+        if (data.read() != -1) {
+            throw new IOException("Unexpected data after the last tier, the snapshot doesn't match the task tiers");
+        }
+        return builder.build();
+    }
+}
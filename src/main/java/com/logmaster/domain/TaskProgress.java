@@ -0,0 +1,100 @@
+package com.logmaster.domain;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.logmaster.persistence.TaskProgressAdapter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The completed tasks for each tier, stored as one bitset per tier indexed by task id.
+ * The adapter also reads a null progress, as an empty one
+ */
+@JsonAdapter(value = TaskProgressAdapter.class, nullSafe = false)
+public class TaskProgress {
+    private static final int WORD_BITS = 64;
+
+    private final long[][] tiers = new long[TaskTier.values().length][];
+
+    public TaskProgress() {
+        Arrays.fill(tiers, new long[0]);
+    }
+
+    public synchronized boolean isComplete(TaskTier tier, int taskId) {
+        if (taskId < 0) {
+            return false;
+        }
+        long[] words = tiers[tier.ordinal()];
+        int word = taskId / WORD_BITS;
+        return word < words.length && (words[word] & (1L << taskId)) != 0;
+    }
+
+    public synchronized void setComplete(TaskTier tier, int taskId, boolean complete) {
+        if (taskId < 0) {
+            return;
+        }
+        int word = taskId / WORD_BITS;
+        long[] words = tiers[tier.ordinal()];
+        if (word >= words.length) {
+            if (!complete) {
+                return;
+            }
+            words = Arrays.copyOf(words, word + 1);
+            tiers[tier.ordinal()] = words;
+        }
+        if (complete) {
+            words[word] |= 1L << taskId;
+        } else {
+            words[word] &= ~(1L << taskId);
+        }
+    }
+
+    /**
+     * Flips the completion state of a task
+     * @return true if the task is now complete
+     */
+    public synchronized boolean toggle(TaskTier tier, int taskId) {
+        boolean complete = !isComplete(tier, taskId);
+        setComplete(tier, taskId, complete);
+        return complete;
+    }
+
+    /**
+     * Counts the completed tasks of a tier which are also present in the given id mask
+     * @param mask the task ids to count, as built by {@link #mask(int[])}
+     */
+    public synchronized int countComplete(TaskTier tier, long[] mask) {
+        long[] words = tiers[tier.ordinal()];
+        int count = 0;
+        for (int i = 0, n = Math.min(words.length, mask.length); i < n; i++) {
+            count += Long.bitCount(words[i] & mask[i]);
+        }
+        return count;
+    }
+
+    public synchronized BitSet getCompleted(TaskTier tier) {
+        return BitSet.valueOf(tiers[tier.ordinal()]);
+    }
+
+    public synchronized void setCompleted(TaskTier tier, BitSet completed) {
+        tiers[tier.ordinal()] = completed.toLongArray();
+    }
+
+    /**
+     * Builds an id mask usable with {@link #countComplete(TaskTier, long[])}
+     */
+    public static long[] mask(int[] taskIds) {
+        long[] mask = new long[0];
+        for (int taskId : taskIds) {
+            if (taskId < 0) {
+                continue;
+            }
+            int word = taskId / WORD_BITS;
+            if (word >= mask.length) {
+                mask = Arrays.copyOf(mask, word + 1);
+            }
+            mask[word] |= 1L << taskId;
+        }
+        return mask;
+    }
+}
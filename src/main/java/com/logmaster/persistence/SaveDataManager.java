@@ -1,21 +1,26 @@
 package com.logmaster.persistence;
 
 import com.google.gson.reflect.TypeToken;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.diagnostics.HotPath;
 import com.logmaster.domain.SaveData;
 import com.logmaster.domain.Task;
 import com.logmaster.domain.TaskPointer;
 import com.logmaster.domain.TaskTier;
+import com.logmaster.util.BackgroundExecutor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.config.ConfigManager;
-import net.runelite.client.plugins.slayer.SlayerConfig;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
-import java.util.HashSet;
+import java.util.ConcurrentModificationException;
 import java.util.Scanner;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.logmaster.LogMasterConfig.CONFIG_GROUP;
 import static com.logmaster.LogMasterConfig.SAVE_DATA_KEY;
@@ -27,15 +32,64 @@ public class SaveDataManager {
 
     private static final String DATA_FOLDER_NAME = "generate-task";
 
+    // How long the save data has to stay untouched before a pending save is written out
+    private static final long SAVE_QUIET_PERIOD_MS = 1000;
+
+    // How many times a write is tried while the client thread is changing the data underneath it
+    private static final int SERIALIZE_ATTEMPTS = 3;
+
     @Inject
     private Client client;
 
     @Inject
     private ConfigManager configManager;
 
-    private SaveData saveData;
+    @Inject
+    private BackgroundExecutor executor;
+
+    @Inject
+    private Diagnostics diagnostics;
+
+    // The save data is parsed once and then treated as the source of truth until the profile changes
+    private volatile SaveData saveData;
+
+    // The active task as of the last change, for threads which mustn't load or walk the save data
+    private volatile Task activeTask;
+
+    // The RS profile the cached save data was loaded from, so saves never leak into another profile.
+    // Null while the profile isn't known yet, changes are then held until it is, see adoptProfileKey()
+    private String saveDataProfileKey;
+
+    private boolean dirty;
+    private ScheduledFuture<?> pendingSave;
+
+    @Getter
+    private int savesRequested;
+    @Getter
+    private int savesWritten;
 
     public SaveData getSaveData() {
+        long start = diagnostics.start();
+        try {
+            if (saveData == null) {
+                reload();
+            }
+            return saveData;
+        } finally {
+            diagnostics.stop(HotPath.GET_SAVE_DATA, start);
+        }
+    }
+
+    /**
+     * Discards the cached save data and parses it again from the current RS profile
+     *
+     * @return the freshly loaded save data
+     */
+    public synchronized SaveData reload() {
+        saveDataProfileKey = configManager.getRSProfileKey();
+        if (saveDataProfileKey == null) {
+            log.debug("Loading the save data before the RuneScape profile is known");
+        }
         saveData = loadRLProfileSaveData();
         if (saveData == null) {
             SaveData localSave = loadLocalPlayerSaveData();
@@ -45,23 +99,146 @@ public class SaveDataManager {
                 saveData = initialiseSaveData();
             }
         }
+        publishActiveTask(saveData.getActiveTaskPointer());
         return saveData;
     }
 
-    public void save() {
-        String json = GSON.toJson(saveData);
-        configManager.setRSProfileConfiguration(CONFIG_GROUP, SAVE_DATA_KEY, json);
+    /**
+     * Writes out any pending changes and drops the cached save data, the next
+     * call to {@link #getSaveData()} will load it for the active profile
+     */
+    public synchronized void invalidate() {
+        flush();
+        // Anything flush couldn't write has already been warned about
+        dirty = false;
+        saveData = null;
+        saveDataProfileKey = null;
+        activeTask = null;
     }
 
-    public Task currentTask() {
-        if (getSaveData().getActiveTaskPointer() == null) {
-            return null;
+    /**
+     * Marks the save data as changed. The write is deferred until the data has been left
+     * alone for {@link #SAVE_QUIET_PERIOD_MS}, so a burst of changes results in a single write.
+     * If the RS profile isn't known yet the changes are held until the next {@link #flush()}
+     */
+    public synchronized void save() {
+        long start = diagnostics.start();
+        try {
+            if (saveData == null) {
+                return;
+            }
+            if (saveDataProfileKey == null) {
+                if (!dirty) {
+                    log.warn("No RuneScape profile is loaded yet, task changes will be saved once one is");
+                }
+                dirty = true;
+                savesRequested++;
+                return;
+            }
+            dirty = true;
+            savesRequested++;
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+            }
+            pendingSave = executor.schedule(this::flush, SAVE_QUIET_PERIOD_MS, TimeUnit.MILLISECONDS);
+        } finally {
+            diagnostics.stop(HotPath.SAVE, start);
+        }
+    }
+
+    /**
+     * Immediately writes out the save data if there are changes which haven't been persisted yet
+     */
+    public synchronized void flush() {
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+            pendingSave = null;
+        }
+        if (!dirty || saveData == null) {
+            return;
+        }
+        if (saveDataProfileKey == null && !adoptProfileKey()) {
+            log.warn("Unable to save the task changes made before the RuneScape profile was loaded");
+            return;
+        }
+
+        long start = diagnostics.start();
+        String json = toJson(saveData);
+        if (json == null) {
+            // Left dirty, so the next save or flush tries again
+            log.warn("Unable to write the save data, it kept changing while being written");
+            return;
+        }
+        configManager.setConfiguration(CONFIG_GROUP, saveDataProfileKey, SAVE_DATA_KEY, json);
+        dirty = false;
+        savesWritten++;
+        diagnostics.stop(HotPath.SAVE_WRITE, start);
+        log.debug("Save data written, {} of {} save requests coalesced", getWritesAvoided(), savesRequested);
+    }
+
+    /**
+     * Gives save data loaded before the RS profile was known the profile which is now active,
+     * as long as that profile has nothing saved which it would overwrite
+     *
+     * @return true if the save data now has a profile to be written to
+     */
+    private boolean adoptProfileKey() {
+        String profileKey = configManager.getRSProfileKey();
+        if (profileKey == null || configManager.getConfiguration(CONFIG_GROUP, profileKey, SAVE_DATA_KEY) != null) {
+            return false;
+        }
+        saveDataProfileKey = profileKey;
+        return true;
+    }
+
+    /**
+     * The client thread can change the data while it is being serialized. The write is retried straight
+     * away rather than on the executor, as the last flush happens while the executor is shutting down
+     *
+     * @return the save data as JSON, or null if it kept changing
+     */
+    private static String toJson(SaveData saveData) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return GSON.toJson(saveData);
+            } catch (ConcurrentModificationException e) {
+                if (attempt == SERIALIZE_ATTEMPTS) {
+                    return null;
+                }
+            }
         }
-        return getSaveData().getActiveTaskPointer().getTask();
+    }
+
+    public synchronized int getWritesAvoided() {
+        return savesRequested - savesWritten;
+    }
+
+    /**
+     * Sets the active task in the save data and publishes it to {@link #currentTask()}
+     * @param activeTask the new active task, or null to clear it
+     */
+    public void setActiveTaskPointer(TaskPointer activeTask) {
+        getSaveData().setActiveTaskPointer(activeTask);
+        publishActiveTask(activeTask);
+    }
+
+    /**
+     * Gets the active task without loading the save data, so it is safe to call from any thread
+     * @return the active task, or null if there is none or the save data hasn't been loaded
+     */
+    public Task currentTask() {
+        return activeTask;
+    }
+
+    private void publishActiveTask(TaskPointer pointer) {
+        activeTask = pointer != null ? pointer.getTask() : null;
     }
 
     private SaveData loadRLProfileSaveData() {
-        String saveDataJson = configManager.getRSProfileConfiguration(CONFIG_GROUP, SAVE_DATA_KEY, String.class);
+        if (saveDataProfileKey == null) {
+            return null;
+        }
+        String saveDataJson = configManager.getConfiguration(CONFIG_GROUP, saveDataProfileKey, SAVE_DATA_KEY);
         if (saveDataJson == null) {
             return null;
         }
@@ -72,7 +249,6 @@ public class SaveDataManager {
         }
         return null;
     }
-
     private SaveData loadLocalPlayerSaveData() {
         File playerFolder = new File(RuneLite.RUNELITE_DIR, DATA_FOLDER_NAME);
         if (!playerFolder.exists()) {
@@ -85,14 +261,9 @@ public class SaveDataManager {
         try {
             String json = new Scanner(playerFile).useDelimiter("\\Z").next();
             SaveData loaded = GSON.fromJson(json, new TypeToken<SaveData>() {}.getType());
-            for (TaskTier loopTier : TaskTier.values()) {
-                if (!loaded.getProgress().containsKey(loopTier)) {
-                    loaded.getProgress().put(loopTier, new HashSet<>());
-                }
-            }
             // Can get rid of this eventually
-            if (!loaded.getCompletedTasks().isEmpty()) {
-                loaded.getProgress().get(TaskTier.MASTER).addAll(loaded.getCompletedTasks().keySet());
+            for (int taskId : loaded.getCompletedTasks().keySet()) {
+                loaded.getProgress().setComplete(TaskTier.MASTER, taskId, true);
             }
             if (loaded.currentTask != null) {
                 TaskPointer taskPointer = new TaskPointer();
@@ -109,12 +280,6 @@ public class SaveDataManager {
     }
 
     private SaveData initialiseSaveData() {
-        SaveData created = new SaveData();
-        for (TaskTier loopTier : TaskTier.values()) {
-            if (!created.getProgress().containsKey(loopTier)) {
-                created.getProgress().put(loopTier, new HashSet<>());
-            }
-        }
-        return created;
+        return new SaveData();
     }
 }
@@ -0,0 +1,160 @@
+package com.logmaster.persistence;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.logmaster.domain.TaskProgress;
+import com.logmaster.domain.TaskTier;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.BitSet;
+
+/**
+ * Writes task progress as one base64 encoded, run-length compressed bitset per tier.
+ * Saves from older versions, which stored each tier as an array of task ids, are still read.
+ */
+@Slf4j
+public class TaskProgressAdapter extends TypeAdapter<TaskProgress> {
+    // Task ids are in the thousands, a tier running past this is a corrupt save rather than progress
+    private static final int MAX_TASK_ID = 1 << 20;
+
+    @Override
+    public void write(JsonWriter out, TaskProgress progress) throws IOException {
+        if (progress == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (TaskTier tier : TaskTier.values()) {
+            out.name(tier.name()).value(encode(progress.getCompleted(tier)));
+        }
+        out.endObject();
+    }
+
+    @Override
+    public TaskProgress read(JsonReader in) throws IOException {
+        TaskProgress progress = new TaskProgress();
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return progress;
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            TaskTier tier = tierOf(in.nextName());
+            if (tier == null) {
+                in.skipValue();
+                continue;
+            }
+
+            if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                // Legacy format, a plain list of the completed task ids
+                in.beginArray();
+                while (in.hasNext()) {
+                    if (in.peek() == JsonToken.NUMBER) {
+                        // Read as a double, as nextInt() throws for fractions and would lose the whole save
+                        double taskId = in.nextDouble();
+                        if (taskId >= 0 && taskId < MAX_TASK_ID && taskId == Math.rint(taskId)) {
+                            progress.setComplete(tier, (int) taskId, true);
+                        } else {
+                            log.warn("Skipping the invalid {} task id {}", tier, taskId);
+                        }
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endArray();
+            } else if (in.peek() == JsonToken.STRING) {
+                String encoded = in.nextString();
+                try {
+                    progress.setCompleted(tier, decode(encoded));
+                } catch (IOException e) {
+                    // Losing one tier is better than the whole save being replaced with a new one
+                    log.warn("Unable to read the {} task progress, the tier will start empty", tier, e);
+                }
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return progress;
+    }
+
+    private static TaskTier tierOf(String name) {
+        try {
+            return TaskTier.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes the bitset as alternating clear/set run lengths (starting with a clear run),
+     * each written as a varint, then base64 encodes the result
+     */
+    static String encode(BitSet bits) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int pos = 0;
+        boolean set = false;
+        while (pos < bits.length()) {
+            int next = set ? bits.nextClearBit(pos) : bits.nextSetBit(pos);
+            writeVarInt(out, next - pos);
+            pos = next;
+            set = !set;
+        }
+        return Base64.getEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    static BitSet decode(String encoded) throws IOException {
+        byte[] data;
+        try {
+            data = Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed task progress: " + encoded, e);
+        }
+
+        BitSet bits = new BitSet();
+        int[] offset = {0};
+        int pos = 0;
+        boolean set = false;
+        while (offset[0] < data.length) {
+            int run = readVarInt(data, offset);
+            if (run < 0 || run > MAX_TASK_ID - pos) {
+                throw new IOException("Malformed task progress, run too long");
+            }
+            if (set) {
+                bits.set(pos, pos + run);
+            }
+            pos += run;
+            set = !set;
+        }
+        return bits;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] offset) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (offset[0] >= data.length) {
+                throw new IOException("Truncated task progress");
+            }
+            byte b = data[offset[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed task progress");
+    }
+}
@@ -0,0 +1,125 @@
+package com.logmaster.task;
+
+import com.logmaster.domain.Task;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskProgress;
+import com.logmaster.domain.TaskTier;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The tasks of each tier which have not been completed yet, kept in a dense array so a
+ * random one can be picked in constant time. Completing a task swaps it out with the
+ * last entry of the pool, unmarking it appends it again.
+ */
+public class AvailableTaskPool {
+    private static final TaskTier[] TIERS = TaskTier.values();
+
+    private final Task[][] pool = new Task[TIERS.length][0];
+    private final int[] size = new int[TIERS.length];
+
+    // Indexed by task id; where each task sits in the pool (-1 when it isn't in it) and the task itself
+    private final int[][] slotById = new int[TIERS.length][0];
+    private final Task[][] taskById = new Task[TIERS.length][0];
+
+    public synchronized void rebuild(TaskCatalog taskList, TaskProgress progress) {
+        for (TaskTier tier : TIERS) {
+            int taskCount = taskList.size(tier);
+            int maxId = -1;
+            for (int i = 0; i < taskCount; i++) {
+                maxId = Math.max(maxId, taskList.getTaskId(tier, i));
+            }
+
+            int t = tier.ordinal();
+            Task[] tierPool = new Task[taskCount];
+            int[] slots = new int[maxId + 1];
+            Task[] byId = new Task[maxId + 1];
+            Arrays.fill(slots, -1);
+
+            int tierSize = 0;
+            for (int i = 0; i < taskCount; i++) {
+                int id = taskList.getTaskId(tier, i);
+                if (id < 0 || byId[id] != null) {
+                    continue;
+                }
+                Task task = taskList.getTask(tier, i);
+                byId[id] = task;
+                if (!progress.isComplete(tier, id)) {
+                    slots[id] = tierSize;
+                    tierPool[tierSize++] = task;
+                }
+            }
+
+            pool[t] = tierPool;
+            size[t] = tierSize;
+            slotById[t] = slots;
+            taskById[t] = byId;
+        }
+    }
+
+    /**
+     * Moves a task in or out of the pool after its completion state has changed
+     */
+    public synchronized void onTaskChanged(TaskTier tier, int taskId, boolean complete) {
+        int t = tier.ordinal();
+        int[] slots = slotById[t];
+        if (taskId < 0 || taskId >= slots.length || taskById[t][taskId] == null) {
+            return;
+        }
+
+        Task[] tierPool = pool[t];
+        int slot = slots[taskId];
+        if (complete && slot >= 0) {
+            int last = --size[t];
+            Task moved = tierPool[last];
+            tierPool[slot] = moved;
+            slots[moved.getId()] = slot;
+            tierPool[last] = null;
+            slots[taskId] = -1;
+        } else if (!complete && slot < 0) {
+            slots[taskId] = size[t];
+            tierPool[size[t]++] = taskById[t][taskId];
+        }
+    }
+
+    public synchronized int getRemainingCount(TaskTier tier) {
+        return size[tier.ordinal()];
+    }
+
+    /**
+     * @return a random uncompleted task of the tier, or null if every task has been completed
+     */
+    public synchronized Task getRandom(TaskTier tier, Random random) {
+        int tierSize = size[tier.ordinal()];
+        if (tierSize == 0) {
+            return null;
+        }
+        return pool[tier.ordinal()][random.nextInt(tierSize)];
+    }
+
+    /**
+     * @return a live, read-only view of the uncompleted tasks of the tier. It is reordered
+     * as tasks change, so only use it on the client thread and copy it to keep it.
+     */
+    public List<Task> asList(TaskTier tier) {
+        return new AbstractList<Task>() {
+            @Override
+            public Task get(int index) {
+                synchronized (AvailableTaskPool.this) {
+                    if (index < 0 || index >= size[tier.ordinal()]) {
+                        throw new IndexOutOfBoundsException("Index: " + index);
+                    }
+                    return pool[tier.ordinal()][index];
+                }
+            }
+
+            @Override
+            public int size() {
+                return getRemainingCount(tier);
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.logmaster.task;
+
+import com.logmaster.LogMasterConfig;
+import com.logmaster.LogMasterPlugin;
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.Task;
+import com.logmaster.domain.TaskPointer;
+import com.logmaster.persistence.SaveDataManager;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.util.Text;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.function.IntFunction;
+
+/**
+ * Completes the active task when its item is newly added to the collection log. A task's item
+ * is often only its icon, the same item is shown for many tasks across the tiers, so obtaining
+ * it only ever completes the task the player is working on, and only when the item is new:
+ * <ul>
+ *     <li>the game message sent for a new item names it</li>
+ *     <li>a collection log page shows it obtained, after a page showed it missing while the task was active</li>
+ * </ul>
+ * The task is completed on the next game tick, so both sources result in a single save and interface update.
+ */
+@Slf4j
+@Singleton
+public class CollectionLogWatcher {
+    private static final String NEW_ITEM_MESSAGE = "New item added to your collection log:";
+
+    // Items which haven't been obtained are drawn faded on the collection log page
+    private static final int OBTAINED_OPACITY = 0;
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private ItemManager itemManager;
+
+    @Inject
+    private LogMasterConfig config;
+
+    @Inject
+    private LogMasterPlugin plugin;
+
+    @Inject
+    private TaskService taskService;
+
+    @Inject
+    private SaveDataManager saveDataManager;
+
+    // The active task whose item was obtained since the last tick
+    private Task obtainedTask;
+
+    // The active task whose item a collection log page has shown as not obtained
+    private Task missingTask;
+
+    // Overridable so the item can be named without an ItemManager
+    @Setter(AccessLevel.PACKAGE)
+    private IntFunction<String> itemNameLookup = itemId -> itemManager.getItemComposition(itemId).getName();
+
+    @Getter
+    private int tasksCompleted;
+
+    public void onChatMessage(ChatMessage chatMessage) {
+        if (chatMessage.getType() != ChatMessageType.GAMEMESSAGE || !config.autoCompleteTasks()) {
+            return;
+        }
+        String message = Text.removeTags(chatMessage.getMessage());
+        if (!message.startsWith(NEW_ITEM_MESSAGE)) {
+            return;
+        }
+
+        Task activeTask = saveDataManager.currentTask();
+        String name = message.substring(NEW_ITEM_MESSAGE.length()).trim();
+        if (activeTask != null && name.equalsIgnoreCase(itemNameLookup.apply(activeTask.getItemID()))) {
+            obtainedTask = activeTask;
+        }
+    }
+
+    /**
+     * Checks the active task's item on the collection log page which was just drawn
+     */
+    public void onCollectionLogPage() {
+        if (!config.autoCompleteTasks()) {
+            return;
+        }
+        Widget items = client.getWidget(InterfaceID.Collection.ITEMS_CONTENTS);
+        Task activeTask = saveDataManager.currentTask();
+        if (items == null || items.getDynamicChildren() == null || activeTask == null) {
+            return;
+        }
+
+        for (Widget item : items.getDynamicChildren()) {
+            if (item.getItemId() != activeTask.getItemID()) {
+                continue;
+            }
+            if (item.getOpacity() != OBTAINED_OPACITY) {
+                missingTask = activeTask;
+            } else if (missingTask == activeTask) {
+                // Obtained since it was seen missing, an item obtained before then proves nothing
+                obtainedTask = activeTask;
+            }
+        }
+    }
+
+    /**
+     * Completes the active task if its item was obtained since the last tick
+     */
+    public void onGameTick() {
+        if (obtainedTask == null) {
+            return;
+        }
+        Task obtained = obtainedTask;
+        obtainedTask = null;
+
+        SaveData saveData = saveDataManager.getSaveData();
+        TaskPointer activeTask = saveData.getActiveTaskPointer();
+        // The task may have been completed or replaced since its item was obtained
+        if (activeTask == null || activeTask.getTask() != obtained
+                || saveData.getProgress().isComplete(activeTask.getTaskTier(), obtained.getId())) {
+            return;
+        }
+
+        taskService.setTaskComplete(activeTask.getTaskTier(), obtained.getId(), true);
+        tasksCompleted++;
+        log.debug("Completed the active task from the collection log");
+        plugin.afterActiveTaskCompleted();
+    }
+}
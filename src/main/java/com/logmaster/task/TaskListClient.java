@@ -1,8 +1,10 @@
 package com.logmaster.task;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.logmaster.domain.TaskCatalog;
+import lombok.AccessLevel;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
 import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
@@ -12,7 +14,16 @@ import okhttp3.ResponseBody;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.File;
+import java.io.FilterReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
 
 @Slf4j
 @Singleton
@@ -21,25 +32,56 @@ public class TaskListClient {
     private static final String TASK_LIST_URL = "raw.githubusercontent.com";
     private static final String TASK_LIST_PATH = "Alex-Banna/generate-task-tasks/main/tasks.json";
 
+    private static final String CACHE_FOLDER_NAME = "generate-task";
+    private static final String CACHE_FILE_NAME = "tasks.json";
+    private static final String CACHE_META_FILE_NAME = "tasks.meta";
+    private static final String META_ETAG = "etag";
+    private static final String META_LAST_MODIFIED = "last-modified";
+
     @Inject
     private OkHttpClient okHttpClient;
 
+    // Overridable so the client can be pointed at a local server and a temporary directory
+    @Setter(AccessLevel.PACKAGE)
+    private HttpUrl taskListUrl = new HttpUrl.Builder()
+            .scheme("https")
+            .host(TASK_LIST_URL)
+            .addPathSegments(TASK_LIST_PATH)
+            .build();
+
+    @Setter(AccessLevel.PACKAGE)
+    private File cacheDirectory = new File(RuneLite.RUNELITE_DIR, CACHE_FOLDER_NAME);
+
+    /**
+     * Requests the task list, revalidating against the cached copy if there is one.
+     * When the cached copy is still current the response will be a 304, see {@link #isNotModified(Response)}
+     */
     public void getTaskList(Callback callback) throws IOException {
-        HttpUrl url = new HttpUrl.Builder()
-                .scheme("https")
-                .host(TASK_LIST_URL)
-                .addPathSegments(TASK_LIST_PATH)
-                .build();
+        Request.Builder request = new Request.Builder().url(taskListUrl).get();
+
+        Properties meta = loadCacheMeta();
+        if (meta != null && getCacheFile().exists()) {
+            String etag = meta.getProperty(META_ETAG);
+            String lastModified = meta.getProperty(META_LAST_MODIFIED);
+            if (etag != null) {
+                request.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                request.header("If-Modified-Since", lastModified);
+            }
+        }
 
-        getRequest(url, callback);
+        okHttpClient.newCall(request.build()).enqueue(callback);
     }
 
-    private void getRequest(HttpUrl url, Callback callback) {
-        Request request = new Request.Builder().url(url).get().build();
-        okHttpClient.newCall(request).enqueue(callback);
+    public boolean isNotModified(Response response) {
+        return response.code() == HttpURLConnection.HTTP_NOT_MODIFIED;
     }
 
-    public JsonObject processResponse(Response response) throws IOException {
+    /**
+     * Decodes the task list while it is being downloaded, copying the body into the disk cache as it is read
+     */
+    public TaskCatalog processResponse(Response response) throws IOException {
         if (!response.isSuccessful()) {
             return null;
         }
@@ -48,6 +90,127 @@ public class TaskListClient {
         if (resBody == null) {
             return null;
         }
-        return new JsonParser().parse(resBody.string()).getAsJsonObject();
+
+        File cacheFile = getCacheFile();
+        File tmp = new File(cacheDirectory, CACHE_FILE_NAME + ".tmp");
+        if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+            log.warn("Unable to create the task list cache folder {}", cacheDirectory);
+            return TaskListDecoder.decode(resBody.charStream());
+        }
+
+        TaskCatalog catalog;
+        try (Writer cacheWriter = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8);
+             Reader body = new TeeReader(resBody.charStream(), cacheWriter)) {
+            catalog = TaskListDecoder.decode(body);
+        } catch (IOException | RuntimeException e) {
+            // The decoder reports some malformed lists with unchecked exceptions, the old cache stays either way
+            Files.deleteIfExists(tmp.toPath());
+            throw e;
+        }
+
+        // Drop the validators before replacing the list, so a half written cache is never revalidated as current
+        File metaFile = new File(cacheDirectory, CACHE_META_FILE_NAME);
+        Files.deleteIfExists(metaFile.toPath());
+        Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        writeCacheMeta(response.header("ETag"), response.header("Last-Modified"));
+        return catalog;
+    }
+
+    /**
+     * Loads the task list from the last successful download. A cache which can't be read is deleted,
+     * along with its validators, so the next request downloads the list again instead of revalidating it
+     *
+     * @return the cached task list, or null if nothing usable has been cached
+     */
+    public TaskCatalog loadCachedTaskList() {
+        File cacheFile = getCacheFile();
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            return TaskListDecoder.decode(reader);
+        } catch (Exception e) {
+            log.warn("Unable to read the cached task list, discarding it", e);
+        }
+        deleteCache();
+        return null;
+    }
+
+    private void deleteCache() {
+        try {
+            Files.deleteIfExists(new File(cacheDirectory, CACHE_META_FILE_NAME).toPath());
+            Files.deleteIfExists(getCacheFile().toPath());
+        } catch (IOException e) {
+            log.warn("Unable to delete the cached task list", e);
+        }
+    }
+
+    private void writeCacheMeta(String etag, String lastModified) {
+        File metaFile = new File(cacheDirectory, CACHE_META_FILE_NAME);
+        try {
+            Properties meta = new Properties();
+            if (etag != null) {
+                meta.setProperty(META_ETAG, etag);
+            }
+            if (lastModified != null) {
+                meta.setProperty(META_LAST_MODIFIED, lastModified);
+            }
+            File tmp = new File(cacheDirectory, CACHE_META_FILE_NAME + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                meta.store(writer, null);
+            }
+            Files.move(tmp.toPath(), metaFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Unable to cache the task list", e);
+        }
+    }
+
+    private Properties loadCacheMeta() {
+        File metaFile = new File(cacheDirectory, CACHE_META_FILE_NAME);
+        if (!metaFile.exists()) {
+            return null;
+        }
+        Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(metaFile.toPath(), StandardCharsets.UTF_8)) {
+            meta.load(reader);
+            return meta;
+        } catch (IOException e) {
+            log.warn("Unable to read the task list cache metadata", e);
+            return null;
+        }
+    }
+
+    private File getCacheFile() {
+        return new File(cacheDirectory, CACHE_FILE_NAME);
+    }
+
+    /**
+     * Copies everything read through it into a writer
+     */
+    private static class TeeReader extends FilterReader {
+        private final Writer copy;
+
+        TeeReader(Reader in, Writer copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c != -1) {
+                copy.write(c);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int n = super.read(cbuf, off, len);
+            if (n > 0) {
+                copy.write(cbuf, off, n);
+            }
+            return n;
+        }
     }
 }
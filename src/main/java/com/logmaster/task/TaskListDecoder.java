@@ -0,0 +1,77 @@
+package com.logmaster.task;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Decodes a task list JSON document straight into a {@link TaskCatalog}, in a single
+ * streaming pass without building an intermediate string or JSON tree
+ */
+public class TaskListDecoder {
+
+    private TaskListDecoder() {
+    }
+
+    public static TaskCatalog decode(Reader reader) throws IOException {
+        TaskCatalog.Builder builder = new TaskCatalog.Builder();
+        JsonReader json = new JsonReader(reader);
+
+        json.beginObject();
+        while (json.hasNext()) {
+            TaskTier tier = tierOf(json.nextName());
+            if (tier == null || json.peek() != JsonToken.BEGIN_ARRAY) {
+                json.skipValue();
+                continue;
+            }
+
+            json.beginArray();
+            while (json.hasNext()) {
+                readTask(json, tier, builder);
+            }
+            json.endArray();
+        }
+        json.endObject();
+
+        return builder.build();
+    }
+
+    private static void readTask(JsonReader json, TaskTier tier, TaskCatalog.Builder builder) throws IOException {
+        int id = 0;
+        int itemId = 0;
+        String description = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id":
+                    id = json.nextInt();
+                    break;
+                case "itemID":
+                    itemId = json.nextInt();
+                    break;
+                case "description":
+                    description = json.nextString();
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+
+        builder.add(tier, id, itemId, description);
+    }
+
+    private static TaskTier tierOf(String name) {
+        try {
+            return TaskTier.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
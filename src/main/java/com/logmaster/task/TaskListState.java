@@ -0,0 +1,22 @@
+package com.logmaster.task;
+
+import com.logmaster.domain.TaskCatalog;
+import lombok.Value;
+import lombok.With;
+
+/**
+ * The task lists known to {@link TaskService}, together with whether the
+ * remote list has been requested and, after a failed request, when it may
+ * be requested again. Instances are immutable and replaced as a whole, so a
+ * thread reading the current state never sees half of an update.
+ */
+@Value
+@With
+public class TaskListState {
+    public static final TaskListState EMPTY = new TaskListState(null, null, false, 0);
+
+    TaskCatalog localList;
+    TaskCatalog remoteList;
+    boolean remoteRequested;
+    long retryAfterMillis;
+}
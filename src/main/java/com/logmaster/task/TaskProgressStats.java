@@ -0,0 +1,122 @@
+package com.logmaster.task;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskProgress;
+import com.logmaster.domain.TaskTier;
+
+/**
+ * Per-tier completed and total task counts, kept up to date as tasks are
+ * marked and unmarked so that completion queries never walk the task list.
+ */
+public class TaskProgressStats {
+    private static final TaskTier[] TIERS = TaskTier.values();
+
+    private final long[][] taskIdMasks = new long[TIERS.length][];
+    private final int[] completed = new int[TIERS.length];
+    private final int[] total = new int[TIERS.length];
+
+    private TaskCatalog taskList;
+    private TaskProgress progress;
+
+    /**
+     * @return true if the counts were built from this task list and progress
+     */
+    public synchronized boolean isBuiltFor(TaskCatalog taskList, TaskProgress progress) {
+        return this.taskList == taskList && this.progress == progress;
+    }
+
+    /**
+     * Recounts every tier, used when the task list or the save data is swapped out
+     */
+    public synchronized void rebuild(TaskCatalog taskList, TaskProgress progress) {
+        this.taskList = taskList;
+        this.progress = progress;
+        for (TaskTier tier : TIERS) {
+            long[] mask = taskIdMask(taskList, tier);
+            taskIdMasks[tier.ordinal()] = mask;
+            total[tier.ordinal()] = bitCount(mask);
+            completed[tier.ordinal()] = progress.countComplete(tier, mask);
+        }
+    }
+
+    /**
+     * Applies a single task being marked or unmarked, must be called after the progress has been changed
+     * @param wasComplete the completion state of the task before the change
+     */
+    public synchronized void onTaskChanged(TaskTier tier, int taskId, boolean wasComplete) {
+        if (taskList == null || !isInTaskList(tier, taskId)) {
+            return;
+        }
+        boolean complete = progress.isComplete(tier, taskId);
+        if (complete != wasComplete) {
+            completed[tier.ordinal()] += complete ? 1 : -1;
+        }
+    }
+
+    public synchronized int getCompletedCount(TaskTier tier) {
+        return completed[tier.ordinal()];
+    }
+
+    public synchronized int getTotalCount(TaskTier tier) {
+        return total[tier.ordinal()];
+    }
+
+    public synchronized int getPercentage(TaskTier tier) {
+        int tierTotal = total[tier.ordinal()];
+        if (tierTotal == 0) {
+            return 0;
+        }
+        return (int) Math.floor(100d * completed[tier.ordinal()] / tierTotal);
+    }
+
+    /**
+     * @return the first tier, starting at the given one, which still has tasks left to complete, or null if there is none
+     */
+    public synchronized TaskTier getFirstIncompleteTier(TaskTier from) {
+        for (int i = from.ordinal(); i < TIERS.length; i++) {
+            if (getPercentage(TIERS[i]) < 100) {
+                return TIERS[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recounts every tier from scratch and compares the result with the maintained counts
+     * @return true if the incremental counts are still correct
+     */
+    public synchronized boolean verify() {
+        if (taskList == null) {
+            return true;
+        }
+        for (TaskTier tier : TIERS) {
+            long[] mask = taskIdMask(taskList, tier);
+            if (total[tier.ordinal()] != bitCount(mask) || completed[tier.ordinal()] != progress.countComplete(tier, mask)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInTaskList(TaskTier tier, int taskId) {
+        long[] mask = taskIdMasks[tier.ordinal()];
+        int word = taskId / Long.SIZE;
+        return taskId >= 0 && word < mask.length && (mask[word] & (1L << taskId)) != 0;
+    }
+
+    private static long[] taskIdMask(TaskCatalog taskList, TaskTier tier) {
+        int[] ids = new int[taskList.size(tier)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = taskList.getTaskId(tier, i);
+        }
+        return TaskProgress.mask(ids);
+    }
+
+    private static int bitCount(long[] mask) {
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
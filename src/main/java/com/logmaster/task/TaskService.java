@@ -1,15 +1,20 @@
 package com.logmaster.task;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.logmaster.LogMasterConfig;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.diagnostics.HotPath;
 import com.logmaster.domain.SaveData;
 import com.logmaster.domain.Task;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskCatalogSnapshot;
+import com.logmaster.domain.TaskPointer;
 import com.logmaster.domain.TaskTier;
 import com.logmaster.domain.TieredTaskList;
 import com.logmaster.persistence.SaveDataManager;
 import com.logmaster.util.FileUtils;
+import lombok.AccessLevel;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.client.callback.ClientThread;
 import okhttp3.Call;
@@ -18,18 +23,19 @@ import okhttp3.Response;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Singleton
 @Slf4j
 public class TaskService {
 
     private static final String DEF_FILE_TASKS = "default-tasks.json";
-
-    @Inject
-    private Gson gson;
+    private static final String DEF_FILE_TASKS_SNAPSHOT = "default-tasks.bin";
 
     @Inject
     private LogMasterConfig config;
@@ -43,18 +49,66 @@ public class TaskService {
     @Inject
     private SaveDataManager saveDataManager;
 
-    private TieredTaskList localList;
-    private TieredTaskList remoteList;
-    private boolean requestedRemoteList = false;
+    @Inject
+    private Diagnostics diagnostics;
+
+    // Read from any thread and written from the client thread and the OkHttp callbacks. Each change
+    // swaps in a new state, so the catalogs and the request flag are always seen together
+    private final AtomicReference<TaskListState> state = new AtomicReference<>(TaskListState.EMPTY);
+
+    // How long to wait before requesting the remote task list again after a request fails
+    @Setter(AccessLevel.PACKAGE)
+    private long remoteRetryDelayMillis = TimeUnit.MINUTES.toMillis(5);
+
+    private final TaskProgressStats progressStats = new TaskProgressStats();
+    private final AvailableTaskPool availableTasks = new AvailableTaskPool();
+    private final TaskStateIndex taskStates = new TaskStateIndex();
+
+    public TaskCatalog getTaskList() {
+        TaskListState current = state.get();
+        if (current.getLocalList() == null) {
+            TaskCatalog local = loadLocalTaskList();
+            current = state.updateAndGet(s -> s.getLocalList() == null ? s.withLocalList(local) : s);
+        }
+        boolean useRemote = config.loadRemoteTaskList();
+        if (useRemote && current.getRemoteList() == null && !current.isRemoteRequested()
+                && System.currentTimeMillis() >= current.getRetryAfterMillis()) {
+            // Only the thread which claims the request sends it
+            if (state.compareAndSet(current, current.withRemoteRequested(true))) {
+                loadRemoteTaskList();
+            }
+            current = state.get();
+        }
+        return useRemote && current.getRemoteList() != null ? current.getRemoteList() : current.getLocalList();
+    }
+
+    /**
+     * @return the task list {@link #getTaskList()} would return, or null if it hasn't been loaded yet.
+     * Never loads the task list or requests the remote one
+     */
+    public TaskCatalog peekTaskList() {
+        TaskListState current = state.get();
+        return config.loadRemoteTaskList() && current.getRemoteList() != null ? current.getRemoteList() : current.getLocalList();
+    }
 
-    public TieredTaskList getTaskList() {
-        if (localList == null) {
-            this.localList = FileUtils.loadDefinitionResource(TieredTaskList.class, DEF_FILE_TASKS, gson);
+    private TaskCatalog loadLocalTaskList() {
+        // Prefer the snapshot compiled at build time, the JSON is kept as a fallback
+        try (InputStream snapshot = TaskCatalogSnapshot.class.getResourceAsStream(DEF_FILE_TASKS_SNAPSHOT)) {
+            if (snapshot != null) {
+                return TaskCatalogSnapshot.read(new BufferedInputStream(snapshot));
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read the task catalog snapshot, falling back to the JSON task list", e);
         }
-        if (remoteList == null && !requestedRemoteList && config.loadRemoteTaskList()) {
-            loadRemoteTaskList();
+        return FileUtils.loadDefinitionResource(TieredTaskList.class, DEF_FILE_TASKS, TaskListDecoder::decode);
+    }
+
+    private TaskCatalog loadCachedTaskList() {
+        TaskCatalog cached = taskListClient.loadCachedTaskList();
+        if (cached != null) {
+            log.debug("Loaded cached remote task list");
         }
-        return remoteList != null && config.loadRemoteTaskList() ? remoteList : localList;
+        return cached;
     }
 
     public List<Task> getForTier(TaskTier tier) {
@@ -62,54 +116,151 @@ public class TaskService {
     }
 
     public Map<TaskTier, Integer> completionPercentages(SaveData saveData) {
-        Map<TaskTier, Set<Integer>> progressData = saveData.getProgress();
-        TieredTaskList taskList = getTaskList();
+        long start = diagnostics.start();
+        TaskProgressStats stats = getProgressStats(saveData);
 
-        Map<TaskTier, Integer> completionPercentages = new HashMap<>();
+        Map<TaskTier, Integer> completionPercentages = new EnumMap<>(TaskTier.class);
         for (TaskTier tier : TaskTier.values()) {
-            Set<Integer> tierCompletedTasks = new HashSet<>(progressData.get(tier));
-            Set<Integer> tierTaskIdList = taskList.getForTier(tier)
-                    .stream()
-                    .mapToInt(Task::getId)
-                    .boxed()
-                    .collect(Collectors.toSet());
+            completionPercentages.put(tier, stats.getPercentage(tier));
+        }
 
-            tierCompletedTasks.retainAll(tierTaskIdList);
+        diagnostics.stop(HotPath.COMPLETION_PERCENTAGES, start);
+        return completionPercentages;
+    }
 
-            double tierPercentage = 100d * tierCompletedTasks.size() / tierTaskIdList.size();
+    public int getCompletionPercentage(TaskTier tier) {
+        return getProgressStats(saveDataManager.getSaveData()).getPercentage(tier);
+    }
 
-            completionPercentages.put(tier, (int) Math.floor(tierPercentage));
+    /**
+     * Gets the completion counts for the given save data, recounting them only
+     * if the task list or save data have been swapped since they were last built
+     */
+    public TaskProgressStats getProgressStats(SaveData saveData) {
+        TaskCatalog taskList = getTaskList();
+        if (!progressStats.isBuiltFor(taskList, saveData.getProgress())) {
+            progressStats.rebuild(taskList, saveData.getProgress());
+            availableTasks.rebuild(taskList, saveData.getProgress());
+            taskStates.rebuild(taskList, saveData.getProgress(), saveData.getActiveTaskPointer());
         }
+        return progressStats;
+    }
 
-        return completionPercentages;
+    /**
+     * Gets the pool of uncompleted tasks for the current save data
+     */
+    public AvailableTaskPool getAvailableTasks() {
+        getProgressStats(saveDataManager.getSaveData());
+        return availableTasks;
+    }
+
+    /**
+     * Gets the display state of every task for the current save data
+     */
+    public TaskStateIndex getTaskStates() {
+        getProgressStats(saveDataManager.getSaveData());
+        return taskStates;
+    }
+
+    /**
+     * Sets the active task, keeping the task states in step
+     * @param activeTask the new active task, or null to clear it
+     */
+    public void setActiveTask(TaskPointer activeTask) {
+        SaveData saveData = saveDataManager.getSaveData();
+        getProgressStats(saveData);
+        saveDataManager.setActiveTaskPointer(activeTask);
+        taskStates.setActiveTask(activeTask);
+    }
+
+    /**
+     * Marks or unmarks a task as completed, keeping the completion counts in step
+     */
+    public void setTaskComplete(TaskTier tier, int taskId, boolean complete) {
+        SaveData saveData = saveDataManager.getSaveData();
+        TaskProgressStats stats = getProgressStats(saveData);
+        boolean wasComplete = saveData.getProgress().isComplete(tier, taskId);
+        saveData.getProgress().setComplete(tier, taskId, complete);
+        stats.onTaskChanged(tier, taskId, wasComplete);
+        availableTasks.onTaskChanged(tier, taskId, complete);
+        taskStates.onTaskChanged(tier, taskId);
     }
 
     private void loadRemoteTaskList() {
-        requestedRemoteList = true;
-        // Load the remote task list
+        // Serve the last downloaded list straight away, the request below only replaces it if it changed
+        loadCachedIfMissing();
+        // Load the remote task list, timed from the request until the response has been handled
+        long start = diagnostics.start();
         try {
             taskListClient.getTaskList(new Callback() {
                 @Override
                 public void onFailure(@NonNull Call call, @NonNull IOException e) {
                     log.error("Unable to load remote task list, will defer to the default task list", e);
-                    requestedRemoteList = false;
+                    diagnostics.stop(HotPath.REMOTE_TASK_LIST, start);
+                    onRemoteTaskListFailed();
                 }
 
                 @Override
                 public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
-                    JsonObject tasksJson = taskListClient.processResponse(response);
-                    response.close();
-                    if (tasksJson == null) {
+                    if (taskListClient.isNotModified(response)) {
+                        response.close();
+                        diagnostics.stop(HotPath.REMOTE_TASK_LIST, start);
+                        loadCachedIfMissing();
+                        if (state.get().getRemoteList() == null) {
+                            // The cache was deleted when it couldn't be read, so the retry downloads the list again
+                            log.warn("Remote task list unchanged but the cached copy is unusable, will defer to the default task list");
+                            onRemoteTaskListFailed();
+                            return;
+                        }
+                        log.debug("Remote task list unchanged, keeping the cached copy");
+                        return;
+                    }
+                    TaskCatalog tasks;
+                    try {
+                        tasks = taskListClient.processResponse(response);
+                    } catch (IOException | RuntimeException e) {
+                        // A malformed list fails with an IllegalStateException or NumberFormatException
+                        log.error("Unable to decode remote task list, will defer to the default task list", e);
+                        onRemoteTaskListFailed();
+                        return;
+                    } finally {
+                        response.close();
+                        diagnostics.stop(HotPath.REMOTE_TASK_LIST, start);
+                    }
+                    if (tasks == null) {
                         log.error("Loaded null remote task list, will defer to the default task list");
+                        onRemoteTaskListFailed();
                         return;
                     }
                     log.debug("Loaded remote task list!");
-                    remoteList = gson.fromJson(tasksJson, TieredTaskList.class);
+                    onRemoteTaskListLoaded(tasks);
                 }
             });
         } catch (IOException e) {
-            log.error("Unable to load remote task list, will defer to the default task list");
-            this.localList = FileUtils.loadDefinitionResource(TieredTaskList.class, DEF_FILE_TASKS, gson);
+            log.error("Unable to load remote task list, will defer to the default task list", e);
+            diagnostics.stop(HotPath.REMOTE_TASK_LIST, start);
+            onRemoteTaskListFailed();
+        }
+    }
+
+    private void loadCachedIfMissing() {
+        if (state.get().getRemoteList() != null) {
+            return;
+        }
+        TaskCatalog cached = loadCachedTaskList();
+        if (cached != null) {
+            // A download which finished in the meantime is newer than the cache
+            state.updateAndGet(s -> s.getRemoteList() == null ? s.withRemoteList(cached) : s);
         }
     }
+
+    void onRemoteTaskListLoaded(TaskCatalog tasks) {
+        state.updateAndGet(s -> s.withRemoteList(tasks));
+    }
+
+    void onRemoteTaskListFailed() {
+        // Allow a later caller to try again, once the retry delay has passed
+        long retryAfter = System.currentTimeMillis() + remoteRetryDelayMillis;
+        state.updateAndGet(s -> s.withRemoteRequested(false).withRetryAfterMillis(retryAfter));
+    }
 }
@@ -0,0 +1,106 @@
+package com.logmaster.task;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskPointer;
+import com.logmaster.domain.TaskProgress;
+import com.logmaster.domain.TaskTier;
+import lombok.Getter;
+
+/**
+ * The display state of every task, indexed by its position in the catalog, so the
+ * task list can look up a tile's state with a single array access. Kept up to date
+ * as tasks are marked and unmarked and as the active task changes.
+ */
+public class TaskStateIndex {
+    public static final byte NONE = 0;
+    public static final byte COMPLETE = 1;
+    public static final byte CURRENT = 2;
+
+    private static final TaskTier[] TIERS = TaskTier.values();
+
+    private final byte[][] states = new byte[TIERS.length][0];
+
+    @Getter
+    private TaskCatalog taskList;
+    private TaskProgress progress;
+
+    private TaskTier activeTier;
+    private int activeIndex = -1;
+
+    /**
+     * Recomputes every state, used when the task list or the save data is swapped out
+     */
+    public synchronized void rebuild(TaskCatalog taskList, TaskProgress progress, TaskPointer activeTask) {
+        this.taskList = taskList;
+        this.progress = progress;
+        this.activeTier = null;
+        this.activeIndex = -1;
+
+        for (TaskTier tier : TIERS) {
+            int taskCount = taskList.size(tier);
+            byte[] tierStates = new byte[taskCount];
+            for (int i = 0; i < taskCount; i++) {
+                tierStates[i] = progress.isComplete(tier, taskList.getTaskId(tier, i)) ? COMPLETE : NONE;
+            }
+            states[tier.ordinal()] = tierStates;
+        }
+        setActiveTask(activeTask);
+    }
+
+    /**
+     * Applies a single task being marked or unmarked, must be called after the progress has been changed
+     */
+    public synchronized void onTaskChanged(TaskTier tier, int taskId) {
+        if (taskList == null) {
+            return;
+        }
+        int index = taskList.indexOf(tier, taskId);
+        if (index >= 0) {
+            update(tier, index);
+        }
+    }
+
+    /**
+     * Moves the current marker to a new active task
+     * @param activeTask the new active task, or null if there isn't one
+     */
+    public synchronized void setActiveTask(TaskPointer activeTask) {
+        if (taskList == null) {
+            return;
+        }
+
+        TaskTier previousTier = activeTier;
+        int previousIndex = activeIndex;
+        activeTier = null;
+        activeIndex = -1;
+        if (previousIndex >= 0) {
+            update(previousTier, previousIndex);
+        }
+
+        if (activeTask != null && activeTask.getTaskTier() != null && activeTask.getTask() != null) {
+            int index = taskList.indexOf(activeTask.getTaskTier(), activeTask.getTask().getId());
+            if (index >= 0) {
+                activeTier = activeTask.getTaskTier();
+                activeIndex = index;
+                update(activeTier, activeIndex);
+            }
+        }
+    }
+
+    /**
+     * @return the states of the tier, indexed by catalog position. Must not be modified.
+     */
+    public synchronized byte[] getStates(TaskTier tier) {
+        return states[tier.ordinal()];
+    }
+
+    private void update(TaskTier tier, int index) {
+        byte state = NONE;
+        if (progress.isComplete(tier, taskList.getTaskId(tier, index))) {
+            state = COMPLETE;
+        } else if (tier == activeTier && index == activeIndex) {
+            state = CURRENT;
+        }
+        states[tier.ordinal()][index] = state;
+    }
+}
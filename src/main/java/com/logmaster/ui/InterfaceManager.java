@@ -3,6 +3,7 @@ package com.logmaster.ui;
 import com.google.gson.Gson;
 import com.logmaster.LogMasterConfig;
 import com.logmaster.LogMasterPlugin;
+import com.logmaster.diagnostics.Diagnostics;
 import com.logmaster.domain.Task;
 import com.logmaster.domain.TaskTier;
 import com.logmaster.persistence.SaveDataManager;
@@ -15,7 +16,10 @@ import com.logmaster.ui.generic.dropdown.UIDropdown;
 import com.logmaster.ui.generic.dropdown.UIDropdownOption;
 import com.logmaster.ui.generic.UIButton;
 import com.logmaster.ui.generic.UIGraphic;
+import com.logmaster.ui.generic.MutationBuffer;
+import com.logmaster.ui.generic.WidgetPool;
 import com.logmaster.util.FileUtils;
+import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.SoundEffectID;
 import net.runelite.api.gameval.InterfaceID;
@@ -40,6 +44,10 @@ import static com.logmaster.ui.InterfaceConstants.*;
 public class InterfaceManager implements MouseListener, MouseWheelListener {
     private static final int COLLECTION_LOG_TAB_DROPDOWN_WIDGET_ID = 40697929;
 
+    private static final int LAYOUT_TASK_LIST_VISIBLE = 1;
+    private static final int LAYOUT_DASHBOARD_VISIBLE = 1 << 1;
+    private static final int LAYOUT_HIDE_BELOW_SHIFT = 2;
+
     @Inject
     private Client client;
 
@@ -64,22 +72,51 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
     @Inject
     private SaveDataManager saveDataManager;
 
+    @Inject
+    private Diagnostics diagnostics;
+
 
     private SpriteDefinition[] spriteDefinitions;
 
     private TaskDashboard taskDashboard;
-    private TaskList taskList;
+    // Also read by the mouse listeners, which hand their input to the list for the client thread
+    private volatile TaskList taskList;
     private TabManager tabManager;
 
     private UICheckBox taskDashboardCheckbox;
     private UIDropdown dropdown;
 
-    public void initialise() {
+    private Widget collectionLogWindow;
+    private Widget checkboxContainer;
+
+    @Getter
+    private final LayoutCache layoutCache = new LayoutCache();
+
+    // Widget changes made by the components are applied together, once per frame
+    @Getter
+    private final MutationBuffer mutationBuffer = new MutationBuffer();
+
+    // Components are released here when the collection log closes, and bound to the new widgets when it reopens
+    @Getter
+    private final WidgetPool widgetPool = new WidgetPool(mutationBuffer);
+
+    /**
+     * Registers the sprite overrides, once. Safe to call from any thread, the overrides are installed on the client thread.
+     * If the background load is still running, this waits for it rather than registering them twice
+     */
+    public synchronized void initialise() {
+        if (this.spriteDefinitions != null) {
+            return;
+        }
         this.spriteDefinitions = FileUtils.loadDefinitionResource(SpriteDefinition[].class, DEF_FILE_SPRITES, gson);
         this.spriteManager.addSpriteOverrides(spriteDefinitions);
     }
 
     public void updateAfterConfigChange() {
+        assert client.isClientThread();
+        if (this.taskList != null) {
+            this.taskList.setSmoothScrolling(config.smoothScrolling());
+        }
         if (this.taskDashboard != null && isTaskDashboardEnabled()) {
             if (tabManager != null) {
                 tabManager.updateTabs();
@@ -94,8 +131,13 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
     }
 
     public void handleCollectionLogOpen() {
+        assert client.isClientThread();
         Widget window = client.getWidget(InterfaceID.Collection.CONTENT);
-        
+        // Release anything left over, in case the close event was missed
+        releaseComponents();
+        this.collectionLogWindow = window;
+        this.layoutCache.invalidate();
+
         createTaskDashboard(window);
         createTaskList(window);
         createTabManager(window);
@@ -106,9 +148,42 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
     }
 
     public void handleCollectionLogClose() {
+        if (this.taskDashboard == null) {
+            return;
+        }
         this.taskDashboard.setVisibility(false);
         this.taskList.setVisibility(false);
         tabManager.hideTabs();
+        releaseComponents();
+    }
+
+    /**
+     * Releases every component and drops the pooled ones, used when the plugin shuts down
+     */
+    public void dispose() {
+        releaseComponents();
+        widgetPool.clear();
+    }
+
+    private void releaseComponents() {
+        this.collectionLogWindow = null;
+        this.checkboxContainer = null;
+        if (this.taskDashboard != null) {
+            this.taskDashboard.release(widgetPool);
+            this.taskDashboard = null;
+        }
+        if (this.taskList != null) {
+            this.taskList.release(widgetPool);
+            this.taskList = null;
+        }
+        if (this.tabManager != null) {
+            this.tabManager.release();
+            this.tabManager = null;
+        }
+        if (this.taskDashboardCheckbox != null) {
+            this.taskDashboardCheckbox.dispose();
+            this.taskDashboardCheckbox = null;
+        }
     }
 
     public void handleCollectionLogScriptRan() {
@@ -124,7 +199,26 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
         return this.taskDashboard != null && this.taskDashboard.isVisible();
     }
 
+    /**
+     * Lays the collection log components out again, if the window geometry,
+     * page visibility or displayed task list changed since the last layout
+     */
     public void updateTaskListBounds() {
+        if (this.collectionLogWindow == null) {
+            return;
+        }
+
+        int state = config.hideBelow().ordinal() << LAYOUT_HIDE_BELOW_SHIFT;
+        if (this.taskList != null && this.taskList.isVisible()) {
+            state |= LAYOUT_TASK_LIST_VISIBLE;
+        }
+        if (this.taskDashboard != null && this.taskDashboard.isVisible()) {
+            state |= LAYOUT_DASHBOARD_VISIBLE;
+        }
+        if (!layoutCache.needsReflow(collectionLogWindow, checkboxContainer, state, taskService.getTaskList())) {
+            return;
+        }
+
         if (this.taskList != null) {
             taskList.updateBounds();
         }
@@ -134,34 +228,47 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
         if (this.tabManager != null) {
             tabManager.updateBounds();
         }
-        if (this.taskDashboardCheckbox != null) {
-            Widget window = client.getWidget(621, 88);
-            if (window != null) {
-                taskDashboardCheckbox.alignToRightEdge(window, 35, 10);
-            }
+        if (this.taskDashboardCheckbox != null && this.checkboxContainer != null) {
+            taskDashboardCheckbox.alignToRightEdge(checkboxContainer, 35, 10);
+        }
+    }
+
+    public void handleBeforeRender() {
+        assert client.isClientThread();
+        updateTaskListBounds();
+        if (this.taskList != null) {
+            taskList.onBeforeRender();
+        }
+        if (this.taskDashboard != null) {
+            taskDashboard.onBeforeRender();
         }
+        mutationBuffer.flush();
     }
 
     public void handleMouseWheel(MouseWheelEvent event) {
-        if(this.taskList != null) {
+        TaskList taskList = this.taskList;
+        if(taskList != null) {
             taskList.handleWheel(event);
         }
     }
 
     public void handleMousePress(int mouseX, int mouseY) {
-        if(this.taskList != null && this.taskList.isVisible()) {
+        TaskList taskList = this.taskList;
+        if(taskList != null) {
             taskList.handleMousePress(mouseX, mouseY);
         }
     }
 
     public void handleMouseDrag(int mouseX, int mouseY) {
-        if(this.taskList != null && this.taskList.isVisible()) {
+        TaskList taskList = this.taskList;
+        if(taskList != null) {
             taskList.handleMouseDrag(mouseX, mouseY);
         }
     }
 
     public void handleMouseRelease() {
-        if(this.taskList != null) {
+        TaskList taskList = this.taskList;
+        if(taskList != null) {
             taskList.handleMouseRelease();
         }
     }
@@ -222,22 +329,24 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
     }
 
     private void createTabManager(Widget window) {
-        this.tabManager = new TabManager(window, config, saveDataManager);
+        this.tabManager = new TabManager(window, config, saveDataManager, widgetPool);
         this.tabManager.setComponents(taskDashboard, taskList);
     }
 
     private void createTaskDashboard(Widget window) {
-        this.taskDashboard = new TaskDashboard(plugin, config, window, taskService, saveDataManager);
+        this.taskDashboard = new TaskDashboard(plugin, config, window, taskService, saveDataManager, widgetPool);
         this.taskDashboard.setVisibility(false);
     }
 
     private void createTaskList(Widget window) {
-        this.taskList = new TaskList(window, taskService, plugin, clientThread, this.saveDataManager);
+        this.taskList = new TaskList(window, taskService, plugin, clientThread, this.saveDataManager, widgetPool, diagnostics);
+        this.taskList.setSmoothScrolling(config.smoothScrolling());
         this.taskList.setVisibility(false);
     }
 
     private void createTaskCheckbox() {
         Widget window = client.getWidget(621, 88);
+        this.checkboxContainer = window;
         if (window != null) {
             // Create the graphic widget for the checkbox
             Widget toggleWidget = window.createChild(-1, WidgetType.GRAPHIC);
@@ -294,12 +403,18 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
     }
 
     public void rollTask(String description, int itemID, List<Task> tasks) {
+        if (this.taskDashboard == null) {
+            return;
+        }
         this.taskDashboard.setTask(description, itemID, tasks);
         this.taskDashboard.disableGenerateTask(false);
         this.taskDashboard.updatePercentages();
     }
 
     public void completeTask() {
+        if (this.taskDashboard == null) {
+            return;
+        }
         boolean wasDashboardVisible = this.taskDashboard.isVisible();
         this.taskDashboard.updatePercentages();
         taskList.refreshTasks(0);
@@ -309,13 +424,33 @@ public class InterfaceManager implements MouseListener, MouseWheelListener {
         this.tabManager.showTabs();
     }
 
+    /**
+     * Updates the completion percentages and the task list after tasks were completed
+     * from outside the interface, without changing which page is shown
+     */
+    public void updateTaskProgress() {
+        if (this.taskDashboard == null) {
+            return;
+        }
+        this.taskDashboard.updatePercentages();
+        if (this.taskList.isVisible()) {
+            taskList.refreshTasks(0);
+        }
+    }
+
     public void clearCurrentTask() {
+        if (this.taskDashboard == null) {
+            return;
+        }
         this.taskDashboard.setTask("No task.", -1, null);
         this.taskDashboard.enableGenerateTask();
         this.taskDashboard.enableFaqButton();
     }
 
     public void disableGenerateTaskButton() {
+        if (this.taskDashboard == null) {
+            return;
+        }
         this.taskDashboard.disableGenerateTask();
     }
 }
@@ -0,0 +1,78 @@
+package com.logmaster.ui;
+
+import lombok.Getter;
+import net.runelite.api.widgets.Widget;
+
+/**
+ * Remembers the geometry and visibility the plugin's collection log components
+ * were last laid out for, so they only reflow when one of those changes.
+ */
+public class LayoutCache {
+    private boolean valid = false;
+
+    private int windowX;
+    private int windowY;
+    private int windowWidth;
+    private int windowHeight;
+    private int parentX;
+    private int parentY;
+    private int containerWidth;
+    private int state;
+    private Object content;
+
+    @Getter
+    private int reflowCount = 0;
+
+    @Getter
+    private int skippedReflowCount = 0;
+
+    /**
+     * Checks the current layout inputs against the ones last laid out for,
+     * and records them if they differ
+     * @param window the collection log content window
+     * @param container the widget the dashboard checkbox is aligned to, may be null
+     * @param state a bit set of anything else the layout depends on, such as page visibility
+     * @param content the data being displayed, compared by identity
+     * @return true if the components need to be laid out again
+     */
+    public boolean needsReflow(Widget window, Widget container, int state, Object content) {
+        Widget parent = window.getParent();
+        int newParentX = parent == null ? 0 : parent.getRelativeX();
+        int newParentY = parent == null ? 0 : parent.getRelativeY();
+        int newContainerWidth = container == null ? -1 : container.getWidth();
+
+        if (valid
+            && windowX == window.getRelativeX()
+            && windowY == window.getRelativeY()
+            && windowWidth == window.getWidth()
+            && windowHeight == window.getHeight()
+            && parentX == newParentX
+            && parentY == newParentY
+            && containerWidth == newContainerWidth
+            && this.state == state
+            && this.content == content) {
+            skippedReflowCount++;
+            return false;
+        }
+
+        windowX = window.getRelativeX();
+        windowY = window.getRelativeY();
+        windowWidth = window.getWidth();
+        windowHeight = window.getHeight();
+        parentX = newParentX;
+        parentY = newParentY;
+        containerWidth = newContainerWidth;
+        this.state = state;
+        this.content = content;
+        valid = true;
+        reflowCount++;
+        return true;
+    }
+
+    /**
+     * Forces a reflow on the next check, such as when the widgets are recreated
+     */
+    public void invalidate() {
+        valid = false;
+    }
+}
@@ -0,0 +1,66 @@
+package com.logmaster.ui.component;
+
+import com.logmaster.LogMasterConfig;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.diagnostics.HotPath;
+import com.logmaster.diagnostics.RollingTimer;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows the p50 and p99 times of each hot path, when enabled in the config
+ */
+@Singleton
+public class DiagnosticsOverlay extends OverlayPanel {
+    private static final HotPath[] HOT_PATHS = HotPath.values();
+
+    // The percentiles are only worked out this often, rather than every frame
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Inject
+    private LogMasterConfig config;
+
+    @Inject
+    private Diagnostics diagnostics;
+
+    private final String[] lines = new String[HOT_PATHS.length];
+    private long lastRefresh;
+
+    public DiagnosticsOverlay() {
+        setPosition(OverlayPosition.TOP_LEFT);
+    }
+
+    @Override
+    public Dimension render(Graphics2D g) {
+        if (!config.showDiagnostics()) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (lines[0] == null || now - lastRefresh >= REFRESH_INTERVAL_NANOS) {
+            lastRefresh = now;
+            for (HotPath path : HOT_PATHS) {
+                RollingTimer.Summary summary = diagnostics.getTimer(path).summarize();
+                lines[path.ordinal()] = Diagnostics.formatMillis(summary.getP50Nanos()) + " / " + Diagnostics.formatMillis(summary.getP99Nanos());
+            }
+        }
+
+        panelComponent.getChildren().add(TitleComponent.builder().text("Log Master").build());
+        panelComponent.getChildren().add(LineComponent.builder().left("ms").right("p50 / p99").build());
+        for (HotPath path : HOT_PATHS) {
+            panelComponent.getChildren().add(LineComponent.builder()
+                    .left(path.getDisplayName())
+                    .right(lines[path.ordinal()])
+                    .build());
+        }
+        return super.render(g);
+    }
+}
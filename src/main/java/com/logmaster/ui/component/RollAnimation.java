@@ -0,0 +1,103 @@
+package com.logmaster.ui.component;
+
+import com.logmaster.domain.Task;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Drives the task roll animation from the client's frame loop. The keyframe schedule, which
+ * slows down exponentially towards the end of the roll, is computed once per roll duration and
+ * at most one keyframe is applied per frame, no matter how many have elapsed since the last one.
+ */
+public class RollAnimation {
+    public enum Step {
+        /** No roll is in progress */
+        IDLE,
+        /** Nothing changes this frame */
+        HOLD,
+        /** A new random task should be displayed, see {@link #getDisplayTask()} */
+        CYCLE,
+        /** The roll has ended and the rolled task should be displayed */
+        FINISHED
+    }
+
+    private static final int KEYFRAME_COUNT = 250;
+
+    // Offsets from the start of the roll, in ascending order
+    private final long[] keyframes = new long[KEYFRAME_COUNT];
+    private int keyframesRollTime = -1;
+
+    private List<Task> cyclingTasks;
+    private Task displayTask;
+    private long startTime;
+    private int rollTime;
+    private int nextKeyframe;
+    private boolean running;
+
+    public void start(int rollTime, List<Task> cyclingTasks, long now) {
+        if (rollTime != keyframesRollTime) {
+            computeKeyframes(rollTime);
+        }
+        this.rollTime = rollTime;
+        this.cyclingTasks = cyclingTasks;
+        this.startTime = now;
+        this.nextKeyframe = 0;
+        this.running = !cyclingTasks.isEmpty();
+    }
+
+    public void cancel() {
+        running = false;
+        cyclingTasks = null;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Advances the animation to the given time
+     * @return what should change on screen this frame
+     */
+    public Step advance(long now) {
+        if (!running) {
+            return Step.IDLE;
+        }
+
+        long elapsed = now - startTime;
+        if (elapsed >= rollTime) {
+            cancel();
+            return Step.FINISHED;
+        }
+
+        // Skip every keyframe that elapsed since the last frame, only the latest one is shown
+        int keyframe = nextKeyframe;
+        while (keyframe < KEYFRAME_COUNT && keyframes[keyframe] <= elapsed) {
+            keyframe++;
+        }
+        if (keyframe == nextKeyframe) {
+            return Step.HOLD;
+        }
+        nextKeyframe = keyframe;
+
+        int size = cyclingTasks.size();
+        if (size == 0) {
+            return Step.HOLD;
+        }
+        displayTask = cyclingTasks.get(ThreadLocalRandom.current().nextInt(size));
+        return Step.CYCLE;
+    }
+
+    public Task getDisplayTask() {
+        return displayTask;
+    }
+
+    private void computeKeyframes(int rollTime) {
+        // Seems the most natural timing
+        double decay = 450.0 / rollTime;
+        for (int i = 0; i < KEYFRAME_COUNT; i++) {
+            keyframes[KEYFRAME_COUNT - 1 - i] = (long) ((rollTime * 0.925) * Math.exp(-decay * i));
+        }
+        keyframesRollTime = rollTime;
+    }
+}
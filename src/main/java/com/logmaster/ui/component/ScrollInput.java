@@ -0,0 +1,143 @@
+package com.logmaster.ui.component;
+
+/**
+ * Collects scroll input from the mouse listeners between frames, so the
+ * task list is refreshed at most once per frame no matter how many events
+ * arrive. Wheel movement is accumulated as fractional rows, which keeps
+ * high resolution wheels and trackpads from losing small movements, and
+ * can optionally be eased out across several frames as momentum. Mouse
+ * presses, drags and releases are kept as raw positions, so the scrollbar
+ * is hit tested against the widgets on the client thread.
+ * <p>
+ * Input is recorded from the AWT thread and drained on the client thread,
+ * and none of the methods allocate.
+ */
+class ScrollInput {
+    static final int NO_POSITION = Integer.MIN_VALUE;
+
+    // Fraction of the remaining distance covered each frame while gliding
+    private static final double GLIDE_FRACTION = 0.25;
+    private static final double ROUNDING_TOLERANCE = 1e-6;
+
+    private double pendingRows = 0;
+    private double carry = 0;
+
+    private boolean pressPending = false;
+    private int pendingPressX = NO_POSITION;
+    private int pendingPressY = NO_POSITION;
+    private int pendingDragY = NO_POSITION;
+    private boolean releasePending = false;
+
+    // The mouse input taken by the last drainMouse(), only read on the client thread
+    private int pressX = NO_POSITION;
+    private int pressY = NO_POSITION;
+    private int dragY = NO_POSITION;
+    private boolean released = false;
+
+    /**
+     * Records wheel movement, in rows
+     */
+    synchronized void addWheel(double rows) {
+        pendingRows += rows;
+    }
+
+    /**
+     * Records a mouse press, which starts a new gesture
+     */
+    synchronized void press(int x, int y) {
+        pressPending = true;
+        pendingPressX = x;
+        pendingPressY = y;
+        pendingDragY = NO_POSITION;
+        releasePending = false;
+    }
+
+    /**
+     * Records the mouse being dragged, replacing any position that hasn't been applied yet
+     */
+    synchronized void drag(int y) {
+        pendingDragY = y;
+    }
+
+    synchronized void release() {
+        releasePending = true;
+    }
+
+    /**
+     * Takes the mouse input recorded since the last frame, for the getters below
+     */
+    synchronized void drainMouse() {
+        pressX = pressPending ? pendingPressX : NO_POSITION;
+        pressY = pressPending ? pendingPressY : NO_POSITION;
+        dragY = pendingDragY;
+        released = releasePending;
+        pressPending = false;
+        pendingDragY = NO_POSITION;
+        releasePending = false;
+    }
+
+    /**
+     * @return where the mouse was pressed since the last frame, or {@link #NO_POSITION}
+     */
+    int getPressX() {
+        return pressX;
+    }
+
+    int getPressY() {
+        return pressY;
+    }
+
+    /**
+     * @return the latest drag position since the last frame, or {@link #NO_POSITION}
+     */
+    int getDragY() {
+        return dragY;
+    }
+
+    /**
+     * @return true if the mouse was released since the last frame, after any press
+     */
+    boolean wasReleased() {
+        return released;
+    }
+
+    /**
+     * Works out how many whole rows to scroll this frame. With momentum, a
+     * large movement is eased out over the following frames, covering part of
+     * the remaining distance each frame, but still travels the same total distance.
+     * @param momentum whether to glide rather than jump
+     * @return the number of rows to scroll, negative for up
+     */
+    synchronized int drainRows(boolean momentum) {
+        carry += pendingRows;
+        pendingRows = 0;
+
+        // Allow for rounding error, so a full row of movement isn't left in the carry
+        int distance = (int) (carry + Math.copySign(ROUNDING_TOLERANCE, carry));
+        if (distance == 0) {
+            return 0;
+        }
+
+        int rows = distance;
+        if (momentum) {
+            rows = (int) Math.copySign(Math.max(1, Math.round(Math.abs(distance) * GLIDE_FRACTION)), distance);
+        }
+        carry -= rows;
+        return rows;
+    }
+
+    /**
+     * Discards any input that hasn't been applied yet
+     */
+    synchronized void reset() {
+        pendingRows = 0;
+        carry = 0;
+        pressPending = false;
+        pendingDragY = NO_POSITION;
+        releasePending = false;
+        pressX = NO_POSITION;
+        pressY = NO_POSITION;
+        dragY = NO_POSITION;
+        released = false;
+    }
+}
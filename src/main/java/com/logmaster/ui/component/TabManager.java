@@ -6,6 +6,7 @@ import com.logmaster.domain.TaskTier;
 import com.logmaster.persistence.SaveDataManager;
 import com.logmaster.ui.generic.UIButton;
 import com.logmaster.ui.generic.UIGraphic;
+import com.logmaster.ui.generic.WidgetPool;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetType;
 
@@ -18,6 +19,7 @@ public class TabManager {
     private final LogMasterConfig config;
     private final SaveDataManager saveDataManager;
     private final Widget window;
+    private final WidgetPool widgetPool;
     
     private List<UIButton> tabs;
     private UIButton taskDashboardTab;
@@ -26,8 +28,9 @@ public class TabManager {
     private TaskList taskList;
     private UIGraphic divider;
 
-    public TabManager(Widget window, LogMasterConfig config, SaveDataManager saveDataManager) {
+    public TabManager(Widget window, LogMasterConfig config, SaveDataManager saveDataManager, WidgetPool widgetPool) {
         this.window = window;
+        this.widgetPool = widgetPool;
         this.config = config;
         this.saveDataManager = saveDataManager;
         
@@ -44,18 +47,19 @@ public class TabManager {
         // Remove any existing tabs from the window
         if (tabs != null) {
             for (UIButton tab : tabs) {
-                if (tab != null && tab.getWidget() != null) {
-                    tab.getWidget().setHidden(true);
+                if (tab != null && tab.isAttached()) {
+                    tab.setVisibility(false);
+                    widgetPool.release(tab);
                 }
             }
         }
         tabs = new ArrayList<>();
         // Remove and recreate dashboard tab
-        if (taskDashboardTab != null && taskDashboardTab.getWidget() != null) {
-            taskDashboardTab.getWidget().setHidden(true);
+        if (taskDashboardTab != null && taskDashboardTab.isAttached()) {
+            taskDashboardTab.setVisibility(false);
+            widgetPool.release(taskDashboardTab);
         }
-        Widget dashboardTabWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        taskDashboardTab = new UIButton(dashboardTabWidget);
+        taskDashboardTab = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         taskDashboardTab.setSprites(DASHBOARD_TAB_SPRITE_ID, DASHBOARD_TAB_HOVER_SPRITE_ID);
         taskDashboardTab.setSize(95, 21);
         taskDashboardTab.setPosition(10, 0);
@@ -63,8 +67,7 @@ public class TabManager {
         taskDashboardTab.setVisibility(false);
         // Always create all tabs for all tiers
         for (TaskTier tier : TaskTier.values()) {
-            Widget tabWidget = window.createChild(-1, WidgetType.GRAPHIC);
-            UIButton tab = new UIButton(tabWidget);
+            UIButton tab = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
             tab.setSize(66, 21);
             tab.setVisibility(false);
             tabs.add(tab);
@@ -72,8 +75,7 @@ public class TabManager {
     }
 
     private void createDivider() {
-        Widget dividerWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        divider = new UIGraphic(dividerWidget);
+        divider = widgetPool.obtain(window, WidgetType.GRAPHIC, UIGraphic.class, UIGraphic::new);
         divider.setSprite(DIVIDER_SPRITE_ID);
         divider.setSize(window.getWidth() - 20, 1); // Full width minus margins
         divider.setPosition(10, 20);
@@ -83,14 +85,6 @@ public class TabManager {
         // Update divider width to match window width
         int windowWidth = window.getWidth();
         divider.setSize(windowWidth - 20, 1);
-        divider.getWidget().setSize(windowWidth - 20, 1);
-        divider.getWidget().revalidate();
-        
-        // Force widget position updates for all tabs
-        taskDashboardTab.getWidget().revalidate();
-        for (UIButton tab : tabs) {
-            tab.getWidget().revalidate();
-        }
 
         // Update tab positions
         updateTabPositions();
@@ -116,8 +110,6 @@ public class TabManager {
         int dashboardX = 10 + spacing;
         taskDashboardTab.setSize(dashboardTabWidth, 21);
         taskDashboardTab.setPosition(dashboardX, 0);
-        taskDashboardTab.getWidget().setSize(dashboardTabWidth, 21);
-        taskDashboardTab.getWidget().setPos(dashboardX, 0);
         int currentX = dashboardX + dashboardTabWidth + spacing;
         int tabIndex = 0;
         for (TaskTier tier : TaskTier.values()) {
@@ -125,16 +117,14 @@ public class TabManager {
                 UIButton tab = tabs.get(tabIndex);
                 tab.setSize(regularTabWidth, 21);
                 tab.setPosition(currentX, 0);
-                tab.getWidget().setSize(regularTabWidth, 21);
-                tab.getWidget().setPos(currentX, 0);
                 currentX += regularTabWidth + spacing;
             }
             tabIndex++;
         }
-        // Revalidate all tabs
+        // Revalidate all tabs, once per frame however many times the positions are updated
+        taskDashboardTab.revalidate();
         for (UIButton tab : tabs) {
             tab.revalidate();
-            tab.getWidget().revalidate();
         }
     }
 
@@ -212,7 +202,6 @@ public class TabManager {
             } else {
                 // Move out of view before hiding
                 tab.setPosition(-1000, 0);
-                tab.getWidget().setPos(-1000, 0);
                 tab.setVisibility(false);
             }
             tabIndex++;
@@ -224,4 +213,22 @@ public class TabManager {
         createTabs();
         updateTabs();
     }
+
+    /**
+     * Releases the tabs and divider back to the pool, once the collection log has closed
+     */
+    public void release() {
+        if (tabs != null) {
+            tabs.forEach(widgetPool::release);
+            tabs = null;
+        }
+        if (taskDashboardTab != null) {
+            widgetPool.release(taskDashboardTab);
+            taskDashboardTab = null;
+        }
+        if (divider != null) {
+            widgetPool.release(divider);
+            divider = null;
+        }
+    }
 }
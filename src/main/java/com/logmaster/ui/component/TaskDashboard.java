@@ -3,19 +3,20 @@ package com.logmaster.ui.component;
 import com.logmaster.LogMasterConfig;
 import com.logmaster.LogMasterPlugin;
 import com.logmaster.domain.Task;
+import com.logmaster.domain.TaskTier;
 import com.logmaster.persistence.SaveDataManager;
 import com.logmaster.task.TaskService;
 import com.logmaster.ui.generic.UIButton;
 import com.logmaster.ui.generic.UIGraphic;
 import com.logmaster.ui.generic.UILabel;
 import com.logmaster.ui.generic.UIPage;
+import com.logmaster.ui.generic.WidgetPool;
 import lombok.Getter;
 import net.runelite.api.FontID;
 import net.runelite.api.widgets.ItemQuantityMode;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetType;
 
-import javax.swing.Timer;
 import java.awt.Color;
 
 import static com.logmaster.LogMasterPlugin.*;
@@ -58,43 +59,42 @@ public class TaskDashboard extends UIPage {
     private UIButton generateTaskBtn;
     private UIButton faqBtn;
 
-    public TaskDashboard(LogMasterPlugin plugin, LogMasterConfig config, Widget window, TaskService taskService, SaveDataManager saveDataManager) {
+    private final RollAnimation rollAnimation = new RollAnimation();
+    private String rolledTaskDescription;
+    private int rolledTaskItemID;
+
+    public TaskDashboard(LogMasterPlugin plugin, LogMasterConfig config, Widget window, TaskService taskService, SaveDataManager saveDataManager, WidgetPool widgetPool) {
         this.window = window;
         this.plugin = plugin;
         this.config = config;
         this.taskService = taskService;
         this.saveDataManager = saveDataManager;
 
-        createTaskDetails();
+        createTaskDetails(widgetPool);
 
-        Widget titleWidget = window.createChild(-1, WidgetType.TEXT);
-        this.title = new UILabel(titleWidget);
+        this.title = widgetPool.obtain(window, WidgetType.TEXT, UILabel.class, UILabel::new);
         this.title.setFont(FontID.QUILL_CAPS_LARGE);
         this.title.setSize(COLLECTION_LOG_WINDOW_WIDTH, DEFAULT_TASK_DETAILS_HEIGHT);
         this.title.setPosition(getCenterX(window, COLLECTION_LOG_WINDOW_WIDTH), 24);
         this.title.setText("Current Task");
 
-        Widget percentWidget = window.createChild(-1, WidgetType.TEXT);
-        this.percentCompletion = new UILabel(percentWidget);
+        this.percentCompletion = widgetPool.obtain(window, WidgetType.TEXT, UILabel.class, UILabel::new);
         this.percentCompletion.setFont(FontID.BOLD_12);
         this.percentCompletion.setSize(COLLECTION_LOG_WINDOW_WIDTH, 25);
         this.percentCompletion.setPosition(getCenterX(window, COLLECTION_LOG_WINDOW_WIDTH), COLLECTION_LOG_WINDOW_HEIGHT - 91);
         updatePercentages();
 
-        Widget completeTaskWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        this.completeTaskBtn = new UIButton(completeTaskWidget);
+        this.completeTaskBtn = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         this.completeTaskBtn.setSize(DEFAULT_BUTTON_WIDTH, DEFAULT_BUTTON_HEIGHT);
         this.completeTaskBtn.setPosition(getCenterX(window, DEFAULT_BUTTON_WIDTH) + (DEFAULT_BUTTON_WIDTH / 2 + 15), getCenterY(window, DEFAULT_BUTTON_HEIGHT) + 62);
         this.completeTaskBtn.setSprites(COMPLETE_TASK_SPRITE_ID, COMPLETE_TASK_HOVER_SPRITE_ID);
 
-        Widget generateTaskWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        this.generateTaskBtn = new UIButton(generateTaskWidget);
+        this.generateTaskBtn = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         this.generateTaskBtn.setSize(DEFAULT_BUTTON_WIDTH, DEFAULT_BUTTON_HEIGHT);
         this.generateTaskBtn.setPosition(getCenterX(window, DEFAULT_BUTTON_WIDTH) - (DEFAULT_BUTTON_WIDTH / 2 + 15), getCenterY(window, DEFAULT_BUTTON_HEIGHT) + 62);
         this.generateTaskBtn.setSprites(GENERATE_TASK_SPRITE_ID, GENERATE_TASK_HOVER_SPRITE_ID);
 
-        Widget faqWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        this.faqBtn = new UIButton(faqWidget);
+        this.faqBtn = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         this.faqBtn.setSize(DEFAULT_BUTTON_WIDTH/2, DEFAULT_BUTTON_HEIGHT);
         this.faqBtn.setPosition(getCenterX(window, DEFAULT_BUTTON_WIDTH) + 238, getCenterY(window, DEFAULT_BUTTON_HEIGHT) + 112);
         this.faqBtn.setSprites(FAQ_BUTTON_SPRITE_ID, FAQ_BUTTON_HOVER_SPRITE_ID);
@@ -109,27 +109,24 @@ public class TaskDashboard extends UIPage {
         this.add(faqBtn);
     }
 
-    private void createTaskDetails() {
+    private void createTaskDetails(WidgetPool widgetPool) {
         final int POS_X = getCenterX(window, DEFAULT_TASK_DETAILS_WIDTH);
         final int POS_Y = getCenterY(window, DEFAULT_TASK_DETAILS_HEIGHT)-3;
 
-        Widget taskBgWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        this.taskBg = new UIGraphic(taskBgWidget);
+        this.taskBg = widgetPool.obtain(window, WidgetType.GRAPHIC, UIGraphic.class, UIGraphic::new);
         this.taskBg.setSize(DEFAULT_TASK_DETAILS_WIDTH, DEFAULT_TASK_DETAILS_HEIGHT);
         this.taskBg.setPosition(POS_X, POS_Y);
         this.taskBg.setSprite(TASK_BACKGROUND_SPRITE_ID);
 
-        Widget label = window.createChild(-1, WidgetType.TEXT);
-        label.setTextColor(Color.WHITE.getRGB());
-        label.setTextShadowed(true);
-        label.setName("Task Label");
-        this.taskLabel = new UILabel(label);
+        this.taskLabel = widgetPool.obtain(window, WidgetType.TEXT, UILabel.class, UILabel::new);
+        this.taskLabel.getWidget().setTextColor(Color.WHITE.getRGB());
+        this.taskLabel.getWidget().setTextShadowed(true);
+        this.taskLabel.getWidget().setName("Task Label");
         this.taskLabel.setFont(496);
         this.taskLabel.setPosition(POS_X+60, POS_Y);
         this.taskLabel.setSize(DEFAULT_TASK_DETAILS_WIDTH-60, DEFAULT_TASK_DETAILS_HEIGHT);
 
-        Widget taskImageWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        this.taskImage = new UIGraphic(taskImageWidget);
+        this.taskImage = widgetPool.obtain(window, WidgetType.GRAPHIC, UIGraphic.class, UIGraphic::new);
         this.taskImage.setPosition(POS_X+12, POS_Y+21);
         this.taskImage.getWidget().setItemQuantityMode(ItemQuantityMode.NEVER);
         this.taskImage.setSize(42, 36);
@@ -137,43 +134,49 @@ public class TaskDashboard extends UIPage {
     }
 
     public void setTask(String desc, int taskItemID, java.util.List<Task> cyclingTasks) {
+        this.rolledTaskDescription = desc;
+        this.rolledTaskItemID = taskItemID;
         if (cyclingTasks != null) {
-            for (int i = 0; i < 250; i++) {
-                Task displayTask = cyclingTasks.get((int) Math.floor(Math.random() * cyclingTasks.size()));
-                // Seems the most natural timing
-                double decay = 450.0 / ((double) config.rollTime());
-                int delay = (int) ((config.rollTime() * 0.925) * Math.exp(-decay * i));
-                Timer fakeTaskTimer = new Timer(delay, ae -> {
-                    this.taskLabel.setText(displayTask.getDescription());
-                    this.taskImage.setItem(displayTask.getItemID());
-                });
-                fakeTaskTimer.setRepeats(false);
-                fakeTaskTimer.setCoalesce(true);
-                fakeTaskTimer.start();
+            this.rollAnimation.start(config.rollTime(), cyclingTasks, System.currentTimeMillis());
+            if (!this.rollAnimation.isRunning()) {
+                showRolledTask();
             }
-            Timer realTaskTimer = new Timer(config.rollTime(), ae -> {
-                this.taskLabel.setText(desc);
-                this.taskImage.setItem(taskItemID);
-                this.enableCompleteTask();
-                this.enableFaqButton();
-            });
-            realTaskTimer.setRepeats(false);
-            realTaskTimer.setCoalesce(true);
-            realTaskTimer.start();
         } else {
-            this.taskLabel.setText(desc);
-            this.taskImage.setItem(taskItemID);
-            this.enableCompleteTask();
-            this.enableFaqButton();
+            this.rollAnimation.cancel();
+            showRolledTask();
+        }
+    }
+
+    /**
+     * Advances the roll animation, called once per client frame on the client thread
+     */
+    public void onBeforeRender() {
+        switch (this.rollAnimation.advance(System.currentTimeMillis())) {
+            case CYCLE:
+                Task displayTask = this.rollAnimation.getDisplayTask();
+                this.taskLabel.setText(displayTask.getDescription());
+                this.taskImage.setItem(displayTask.getItemID());
+                break;
+            case FINISHED:
+                showRolledTask();
+                break;
+            default:
+                break;
         }
     }
 
+    private void showRolledTask() {
+        this.taskLabel.setText(this.rolledTaskDescription);
+        this.taskImage.setItem(this.rolledTaskItemID);
+        this.enableCompleteTask();
+        this.enableFaqButton();
+    }
+
     public void updatePercentages() {
-        if (this.plugin != null && taskService.completionPercentages(saveDataManager.getSaveData()) != null && this.plugin.getCurrentTier() != null) {
-            Integer percentage = taskService.completionPercentages(saveDataManager.getSaveData()).get(this.plugin.getCurrentTier());
-            if (percentage != null) {
-                this.percentCompletion.setText("<col=" + getCompletionColor(percentage) + ">" + percentage + "%</col> " + this.plugin.getCurrentTier().displayName + " Completed");
-            }
+        if (this.plugin != null && this.plugin.getCurrentTier() != null) {
+            TaskTier currentTier = this.plugin.getCurrentTier();
+            int percentage = taskService.getCompletionPercentage(currentTier);
+            this.percentCompletion.setText("<col=" + getCompletionColor(percentage) + ">" + percentage + "%</col> " + currentTier.displayName + " Completed");
         }
     }
 
@@ -247,34 +250,28 @@ public class TaskDashboard extends UIPage {
 
         int windowWidth = window.getWidth();
 
-        // Update title position - force widget position update
+        // Update title position
         int titleX = getCenterX(window, COLLECTION_LOG_WINDOW_WIDTH);
         this.title.setPosition(titleX, 24);
-        this.title.getWidget().setPos(titleX, 24);
 
         // Update task details (background, label, image)
         final int taskPosX = getCenterX(window, DEFAULT_TASK_DETAILS_WIDTH);
         final int taskPosY = getCenterY(window, DEFAULT_TASK_DETAILS_HEIGHT) - 3;
         
         this.taskBg.setPosition(taskPosX, taskPosY);
-        this.taskBg.getWidget().setPos(taskPosX, taskPosY);
         
         this.taskLabel.setPosition(taskPosX + 60, taskPosY);
-        this.taskLabel.getWidget().setPos(taskPosX + 60, taskPosY);
         
         this.taskImage.setPosition(taskPosX + 12, taskPosY + 21);
-        this.taskImage.getWidget().setPos(taskPosX + 12, taskPosY + 21);
 
-        // Update button positions - force widget position updates
+        // Update button positions
         int generateBtnX = getCenterX(window, DEFAULT_BUTTON_WIDTH) - (DEFAULT_BUTTON_WIDTH / 2 + 15);
         int generateBtnY = getCenterY(window, DEFAULT_BUTTON_HEIGHT) + 62;
         this.generateTaskBtn.setPosition(generateBtnX, generateBtnY);
-        this.generateTaskBtn.getWidget().setPos(generateBtnX, generateBtnY);
         
         int completeBtnX = getCenterX(window, DEFAULT_BUTTON_WIDTH) + (DEFAULT_BUTTON_WIDTH / 2 + 15);
         int completeBtnY = getCenterY(window, DEFAULT_BUTTON_HEIGHT) + 62;
         this.completeTaskBtn.setPosition(completeBtnX, completeBtnY);
-        this.completeTaskBtn.getWidget().setPos(completeBtnX, completeBtnY);
         
         // Update FAQ button position with boundary checking
         int faqBtnX = getCenterX(window, DEFAULT_BUTTON_WIDTH) + 238;
@@ -287,22 +284,11 @@ public class TaskDashboard extends UIPage {
         }
         
         this.faqBtn.setPosition(faqBtnX, faqBtnY);
-        this.faqBtn.getWidget().setPos(faqBtnX, faqBtnY);
 
-        // Update percentage completion position - force widget position update
+        // Update percentage completion position
         int percentX = getCenterX(window, COLLECTION_LOG_WINDOW_WIDTH);
         int percentY = getCenterY(window, DEFAULT_BUTTON_HEIGHT) + 112; // Same Y as FAQ button
         this.percentCompletion.setPosition(percentX, percentY);
-        this.percentCompletion.getWidget().setPos(percentX, percentY);
-        
-        // Force revalidation of all widgets
-        this.title.getWidget().revalidate();
-        this.taskBg.getWidget().revalidate();
-        this.taskLabel.getWidget().revalidate();
-        this.taskImage.getWidget().revalidate();
-        this.generateTaskBtn.getWidget().revalidate();
-        this.completeTaskBtn.getWidget().revalidate();
-        this.faqBtn.getWidget().revalidate();
-        this.percentCompletion.getWidget().revalidate();
+
     }
 }
@@ -1,15 +1,21 @@
 package com.logmaster.ui.component;
 
 import com.logmaster.LogMasterPlugin;
-import com.logmaster.domain.Task;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.diagnostics.HotPath;
+import com.logmaster.domain.TaskCatalog;
 import com.logmaster.domain.TaskTier;
-import com.logmaster.domain.TieredTaskList;
 import com.logmaster.persistence.SaveDataManager;
 import com.logmaster.task.TaskService;
+import com.logmaster.task.TaskStateIndex;
 import com.logmaster.ui.generic.UIButton;
 import com.logmaster.ui.generic.UIGraphic;
 import com.logmaster.ui.generic.UILabel;
 import com.logmaster.ui.generic.UIPage;
+import com.logmaster.ui.generic.WidgetPool;
+import com.logmaster.ui.generic.WidgetState;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.widgets.ItemQuantityMode;
 import net.runelite.api.widgets.Widget;
@@ -47,26 +53,48 @@ public class TaskList extends UIPage {
     private final int SCROLLBAR_THUMB_MIN_HEIGHT = 8;
     
 
+    // Background sprites, indexed by TaskStateIndex state
+    private static final int[] STATE_SPRITES = {
+        TASK_LIST_BACKGROUND_SPRITE_ID,
+        TASK_COMPLETE_BACKGROUND_SPRITE_ID,
+        TASK_CURRENT_BACKGROUND_SPRITE_ID,
+    };
+
     private final Widget window;
     private final TaskService taskService;
     private final LogMasterPlugin plugin;
     private final ClientThread clientThread;
 
     private final SaveDataManager saveDataManager;
+    private final WidgetPool widgetPool;
+    private final Diagnostics diagnostics;
+
+    // Where the wheel scrolls the list, replaced as a whole on the client thread for the mouse listeners to read
+    private volatile Rectangle bounds = new Rectangle();
 
-    private Rectangle bounds = new Rectangle();
+    private final List<TaskTile> tiles = new ArrayList<>();
+
+    /**
+     * The number of widgets written to by the most recent call to {@link #refreshTasks(int)}
+     */
+    @Getter
+    private int lastRefreshMutations = 0;
 
-    private List<UIGraphic> taskBackgrounds = new ArrayList<>();
-    private List<UILabel> taskLabels = new ArrayList<>();
-    private List<UIGraphic> taskImages = new ArrayList<>();
     private Widget scrollbarTrackWidget;
     private Widget scrollbarThumbTopWidget;
     private Widget scrollbarThumbMiddleWidget;
     private Widget scrollbarThumbBottomWidget;
+    private WidgetState scrollbarTrack;
+    private WidgetState scrollbarThumbTop;
+    private WidgetState scrollbarThumbMiddle;
+    private WidgetState scrollbarThumbBottom;
     private UIButton pageUpButton;
     private UIButton upArrowButton;
     private UIButton downArrowButton;
     private UIButton pageDownButton;
+    private final ScrollInput scrollInput = new ScrollInput();
+    @Setter
+    private boolean smoothScrolling = false;
     private boolean isDraggingThumb = false;
     private int dragStartY = 0;
     private int dragStartTopIndex = 0;
@@ -83,8 +111,10 @@ public class TaskList extends UIPage {
     private int tasksPerPage = 20;
     private int columns = 1;
 
-    public TaskList(Widget window, TaskService taskService, LogMasterPlugin plugin, ClientThread clientThread, SaveDataManager saveDataManager) {
+    public TaskList(Widget window, TaskService taskService, LogMasterPlugin plugin, ClientThread clientThread, SaveDataManager saveDataManager, WidgetPool widgetPool, Diagnostics diagnostics) {
         this.window = window;
+        this.widgetPool = widgetPool;
+        this.diagnostics = diagnostics;
         this.taskService = taskService;
         this.plugin = plugin;
         this.clientThread = clientThread;
@@ -103,15 +133,13 @@ public class TaskList extends UIPage {
     }
 
     private void createScrollbarComponents() {
-        Widget pageUpWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        pageUpButton = new UIButton(pageUpWidget);
+        pageUpButton = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         pageUpButton.setSprites(PAGE_UP_ARROW_SPRITE_ID);
         pageUpButton.setSize(ARROW_SPRITE_WIDTH, ARROW_SPRITE_HEIGHT);
         pageUpButton.setPosition(-ARROW_SPRITE_WIDTH, 0);
         pageUpButton.addAction("Page up", () -> refreshTasks(-tasksPerPage));
 
-        Widget upWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        upArrowButton = new UIButton(upWidget);
+        upArrowButton = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         upArrowButton.setSprites(UP_ARROW_SPRITE_ID);
         upArrowButton.setSize(ARROW_SPRITE_WIDTH, ARROW_SPRITE_HEIGHT);
         upArrowButton.setPosition(-ARROW_SPRITE_WIDTH, 0);
@@ -138,15 +166,19 @@ public class TaskList extends UIPage {
         scrollbarThumbBottomWidget.setSize(SCROLLBAR_WIDTH, 2);
         scrollbarThumbBottomWidget.setPos(-ARROW_SPRITE_WIDTH, ARROW_SPRITE_HEIGHT*3 + ARROW_Y_OFFSET + SCROLLBAR_THUMB_MIN_HEIGHT - 2);
 
-        Widget downWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        downArrowButton = new UIButton(downWidget);
+        // Later updates go through the mutation buffer, like the rest of the page's components
+        scrollbarTrack = bufferedState(scrollbarTrackWidget);
+        scrollbarThumbTop = bufferedState(scrollbarThumbTopWidget);
+        scrollbarThumbMiddle = bufferedState(scrollbarThumbMiddleWidget);
+        scrollbarThumbBottom = bufferedState(scrollbarThumbBottomWidget);
+
+        downArrowButton = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         downArrowButton.setSprites(DOWN_ARROW_SPRITE_ID);
         downArrowButton.setSize(ARROW_SPRITE_WIDTH, ARROW_SPRITE_HEIGHT);
         downArrowButton.setPosition(-ARROW_SPRITE_WIDTH, 0);
         downArrowButton.addAction("Scroll down", () -> refreshTasks(1));
 
-        Widget pageDownWidget = window.createChild(-1, WidgetType.GRAPHIC);
-        pageDownButton = new UIButton(pageDownWidget);
+        pageDownButton = widgetPool.obtain(window, WidgetType.GRAPHIC, UIButton.class, UIButton::new);
         pageDownButton.setSprites(PAGE_DOWN_ARROW_SPRITE_ID);
         pageDownButton.setSize(ARROW_SPRITE_WIDTH, ARROW_SPRITE_HEIGHT);
         pageDownButton.setPosition(-ARROW_SPRITE_WIDTH, 0);
@@ -154,12 +186,16 @@ public class TaskList extends UIPage {
     }
     
     public void refreshTasks(int dir) {
+        long start = diagnostics.start();
         TaskTier relevantTier = plugin.getSelectedTier();
         if (relevantTier == null) {
             relevantTier = TaskTier.MASTER;
         }
+        TaskStateIndex taskStates = taskService.getTaskStates();
+        TaskCatalog catalog = taskStates.getTaskList();
+        byte[] states = taskStates.getStates(relevantTier);
         int tasksToShowCount = tasksPerPage * columns;
-        totalTasks = taskService.getTaskList().getForTier(relevantTier).size();
+        totalTasks = catalog.size(relevantTier);
         if (dir != 0) {
             int newIndex = topTaskIndex + (dir * columns);
             topTaskIndex = Math.min(Math.max(0, totalTasks - tasksToShowCount), Math.max(0, newIndex));
@@ -171,167 +207,73 @@ public class TaskList extends UIPage {
         int startY = OFFSET_Y + Math.max(0, (wrapperHeight - totalHeightWithMargin) / 2);
         int totalWidth = columns * TASK_WIDTH + (columns - 1) * COLUMN_SPACING;
         int startX = (windowWidth - totalWidth - SCROLLBAR_WIDTH - 10) / 2;
-        hideUnusedTaskElements(tasksToShowCount);
-        List<Task> tasksToShow = getTasksToShow(relevantTier, topTaskIndex, tasksToShowCount);
-        int widgetIndex = 0;
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < columns; col++) {
-                int i = row * columns + col;
-                int taskY = startY + (row * (TASK_HEIGHT + verticalMargin));
-                int taskX = startX + col * (TASK_WIDTH + COLUMN_SPACING);
-                if (i > tasksToShowCount) break;
-                // Create the task background
-                UIGraphic taskBg;
-                if (taskBackgrounds.size() <= widgetIndex) {
-                    taskBg = new UIGraphic(window.createChild(-1, WidgetType.GRAPHIC));
-                    taskBackgrounds.add(taskBg);
-                    this.add(taskBg);
-                } else {
-                    taskBg = taskBackgrounds.get(widgetIndex);
-                }
-                taskBg.getWidget().setHidden(false);
-                taskBg.clearActions();
-                taskBg.setSize(TASK_WIDTH, TASK_HEIGHT);
-                taskBg.setPosition(taskX, taskY);
-                taskBg.getWidget().setPos(taskX, taskY);
-                taskBg.getWidget().revalidate();
-                // Figure out which background we should be showing
-                if (i < tasksToShow.size()) {
-                    Task task = tasksToShow.get(i);
-                    TaskTier finalRelevantTier = relevantTier;
-                    taskBg.addAction("Mark", () -> plugin.completeTask(task.getId(), finalRelevantTier));
-                    if (saveDataManager.getSaveData().getProgress().get(relevantTier).contains(task.getId())) {
-                        taskBg.setSprite(TASK_COMPLETE_BACKGROUND_SPRITE_ID);
-                    } else if (saveDataManager.getSaveData().getActiveTaskPointer() != null && saveDataManager.getSaveData().getActiveTaskPointer().getTaskTier() == relevantTier && saveDataManager.getSaveData().getActiveTaskPointer().getTask().getId() == task.getId()) {
-                        taskBg.setSprite(TASK_CURRENT_BACKGROUND_SPRITE_ID);
-                    } else {
-                        taskBg.setSprite(TASK_LIST_BACKGROUND_SPRITE_ID);
-                    }
-                } else {
-                    taskBg.setSprite(TASK_LIST_BACKGROUND_SPRITE_ID);
-                }
-                UILabel taskLabel;
-                if (taskLabels.size() <= widgetIndex) {
-                    taskLabel = new UILabel(window.createChild(-1, WidgetType.TEXT));
-                    this.add(taskLabel);
-                    taskLabels.add(taskLabel);
-                } else {
-                    taskLabel = taskLabels.get(widgetIndex);
-                }
-                taskLabel.getWidget().setHidden(false);
-                taskLabel.getWidget().setTextColor(Color.WHITE.getRGB());
-                taskLabel.getWidget().setTextShadowed(true);
-                if (i < tasksToShow.size()) {
-                    Task task = tasksToShow.get(i);
-                    taskLabel.getWidget().setName(task.getDescription());
-                    taskLabel.setText(task.getDescription());
-                } else {
-                    taskLabel.getWidget().setName("");
-                    taskLabel.setText("");
-                }
-                taskLabel.setFont(496);
-                taskLabel.setPosition(taskX + 60, taskY);
-                taskLabel.setSize(TASK_WIDTH-60, TASK_HEIGHT);
-                taskLabel.getWidget().revalidate();
-                UIGraphic taskImage;
-                if(taskImages.size() <= widgetIndex) {
-                    taskImage = new UIGraphic(window.createChild(-1, WidgetType.GRAPHIC));
-                    this.add(taskImage);
-                    taskImages.add(taskImage);
-                } else {
-                    taskImage = taskImages.get(widgetIndex);
-                }
-                taskImage.getWidget().setHidden(false);
-                taskImage.setPosition(taskX + 12, taskY + 6);
-                taskImage.getWidget().setBorderType(1);
-                taskImage.getWidget().setItemQuantityMode(ItemQuantityMode.NEVER);
-                taskImage.setSize(TASK_ITEM_WIDTH, TASK_ITEM_HEIGHT);
-                if (i < tasksToShow.size()) {
-                    Task task = tasksToShow.get(i);
-                    taskImage.setItem(task.getItemID());
-                } else {
-                    taskImage.setItem(-1);
-                }
-                taskImage.getWidget().revalidate();
-                widgetIndex++;
-            }
+
+        // One extra tile is kept offscreen, so the pool always holds the visible tiles plus one
+        while (tiles.size() <= tasksToShowCount) {
+            tiles.add(createTile());
         }
-        // Render the extra widget offscreen if needed
-        if (widgetIndex == tasksToShowCount) {
-            UIGraphic taskBg;
-            if (taskBackgrounds.size() <= widgetIndex) {
-                taskBg = new UIGraphic(window.createChild(-1, WidgetType.GRAPHIC));
-                taskBackgrounds.add(taskBg);
-                this.add(taskBg);
-            } else {
-                taskBg = taskBackgrounds.get(widgetIndex);
-            }
-            taskBg.getWidget().setHidden(false);
-            taskBg.setPosition(-1000, 0);
-            taskBg.getWidget().setPos(-1000, 0);
-            taskBg.getWidget().revalidate();
-            UILabel taskLabel;
-            if (taskLabels.size() <= widgetIndex) {
-                taskLabel = new UILabel(window.createChild(-1, WidgetType.TEXT));
-                this.add(taskLabel);
-                taskLabels.add(taskLabel);
-            } else {
-                taskLabel = taskLabels.get(widgetIndex);
-            }
-            taskLabel.getWidget().setHidden(false);
-            taskLabel.setPosition(-1000, 0);
-            taskLabel.getWidget().setPos(-1000, 0);
-            taskLabel.getWidget().revalidate();
-            UIGraphic taskImage;
-            if(taskImages.size() <= widgetIndex) {
-                taskImage = new UIGraphic(window.createChild(-1, WidgetType.GRAPHIC));
-                this.add(taskImage);
-                taskImages.add(taskImage);
+
+        int mutated = 0;
+        for (int i = 0; i < tasksToShowCount; i++) {
+            int row = i / columns;
+            int col = i % columns;
+            int taskY = startY + (row * (TASK_HEIGHT + verticalMargin));
+            int taskX = startX + col * (TASK_WIDTH + COLUMN_SPACING);
+
+            // Tiles are bound by catalog position modulo the page size, so scrolling
+            // moves the tiles that stay on screen rather than rewriting their content
+            int taskIndex = topTaskIndex + i;
+            TaskTile tile = tiles.get(taskIndex % tasksToShowCount);
+
+            int changed = tile.show();
+            if (taskIndex < totalTasks) {
+                changed |= tile.bind(catalog, relevantTier, taskIndex);
+                changed |= tile.setSprite(STATE_SPRITES[states[taskIndex]]);
             } else {
-                taskImage = taskImages.get(widgetIndex);
+                changed |= tile.clear(TASK_LIST_BACKGROUND_SPRITE_ID);
             }
-            taskImage.getWidget().setHidden(false);
-            taskImage.setPosition(-1000, 0);
-            taskImage.getWidget().setPos(-1000, 0);
-            taskImage.getWidget().revalidate();
+            changed |= tile.moveTo(taskX, taskY);
+            mutated += Integer.bitCount(changed);
         }
-        updateScrollbar();
-    }
 
-    // Overload getTasksToShow to accept a count
-    private List<Task> getTasksToShow(TaskTier relevantTier, int topTaskIndex, int count) {
-        List<Task> tasksToShow = new ArrayList<>();
-        List<Task> taskList = taskService.getTaskList().getForTier(relevantTier);
-        for (int i = 0; i < count; i++) {
-            if (topTaskIndex + i >= taskList.size()) break;
-            tasksToShow.add(taskList.get(topTaskIndex + i));
+        // Render the extra tile offscreen, and hide anything left over from a larger page
+        TaskTile extraTile = tiles.get(tasksToShowCount);
+        mutated += Integer.bitCount(extraTile.show() | extraTile.park());
+        for (int i = tasksToShowCount + 1; i < tiles.size(); i++) {
+            mutated += Integer.bitCount(tiles.get(i).hide());
         }
-        return tasksToShow;
+
+        lastRefreshMutations = mutated;
+        updateScrollbar();
+        diagnostics.stop(HotPath.TASK_LIST_REFRESH, start);
     }
 
-    private void hideUnusedTaskElements(int visibleCount) {
-        // Only hide widgets beyond visibleCount (which is visibleTasks+1)
-        for (int i = visibleCount; i < taskBackgrounds.size(); i++) {
-            UIGraphic bg = taskBackgrounds.get(i);
-            bg.getWidget().setHidden(true);
-            bg.setPosition(-1000, 0);
-            bg.getWidget().setPos(-1000, 0);
-            bg.setSprite(TRANSPARENT_SPRITE_ID);
-        }
-        for (int i = visibleCount; i < taskLabels.size(); i++) {
-            UILabel label = taskLabels.get(i);
-            label.getWidget().setHidden(true);
-            label.setPosition(-1000, 0);
-            label.getWidget().setPos(-1000, 0);
-            label.setText("");
-        }
-        for (int i = visibleCount; i < taskImages.size(); i++) {
-            UIGraphic img = taskImages.get(i);
-            img.getWidget().setHidden(true);
-            img.setPosition(-1000, 0);
-            img.getWidget().setPos(-1000, 0);
-            img.setItem(-1);
-        }
+    private TaskTile createTile() {
+        UIGraphic taskBg = widgetPool.obtain(window, WidgetType.GRAPHIC, UIGraphic.class, UIGraphic::new);
+        taskBg.setSize(TASK_WIDTH, TASK_HEIGHT);
+        this.add(taskBg);
+
+        UILabel taskLabel = widgetPool.obtain(window, WidgetType.TEXT, UILabel.class, UILabel::new);
+        taskLabel.getWidget().setTextColor(Color.WHITE.getRGB());
+        taskLabel.getWidget().setTextShadowed(true);
+        taskLabel.setFont(496);
+        taskLabel.setSize(TASK_WIDTH-60, TASK_HEIGHT);
+        this.add(taskLabel);
+
+        UIGraphic taskImage = widgetPool.obtain(window, WidgetType.GRAPHIC, UIGraphic.class, UIGraphic::new);
+        taskImage.getWidget().setBorderType(1);
+        taskImage.getWidget().setItemQuantityMode(ItemQuantityMode.NEVER);
+        taskImage.setSize(TASK_ITEM_WIDTH, TASK_ITEM_HEIGHT);
+        this.add(taskImage);
+
+        TaskTile tile = new TaskTile(taskBg, taskLabel, taskImage);
+        // The action reads the tile's binding when selected, so it never needs re-registering
+        taskBg.addAction("Mark", () -> {
+            if (tile.taskIndex >= 0) {
+                plugin.completeTask(tile.catalog.getTaskId(tile.tier, tile.taskIndex), tile.tier);
+            }
+        });
+        return tile;
     }
 
     public void goToTop() {
@@ -341,15 +283,60 @@ public class TaskList extends UIPage {
 
     public void handleWheel(final MouseWheelEvent event)
     {
-        if (!this.isVisible() || !bounds.contains(event.getPoint()))
+        // Empty while the list is hidden
+        if (!bounds.contains(event.getX(), event.getY()))
         {
             return;
         }
 
         event.consume();
 
-        // Needed otherwise we get laggy updates
-        clientThread.invoke(() -> refreshTasks(event.getWheelRotation()));
+        // Applied on the next frame, together with anything else that arrives before it
+        scrollInput.addWheel(event.getPreciseWheelRotation());
+    }
+
+    /**
+     * Applies the scrolling collected since the last frame, with at most one refresh
+     */
+    public void onBeforeRender() {
+        if (!this.isVisible()) {
+            scrollInput.reset();
+            isDraggingThumb = false;
+            return;
+        }
+
+        boolean dragged = applyMouseInput();
+        int rows = scrollInput.drainRows(smoothScrolling);
+        if (rows != 0 || dragged) {
+            refreshTasks(rows);
+        }
+    }
+
+    /**
+     * Hit tests the mouse presses and applies the scrollbar drags recorded since the last frame
+     * @return true if a drag moved the list
+     */
+    private boolean applyMouseInput() {
+        scrollInput.drainMouse();
+        if (scrollInput.getPressX() != ScrollInput.NO_POSITION) {
+            isDraggingThumb = isPointInScrollThumb(scrollInput.getPressX(), scrollInput.getPressY());
+            dragStartY = scrollInput.getPressY();
+            dragStartTopIndex = topTaskIndex;
+        }
+
+        boolean dragged = false;
+        if (isDraggingThumb && scrollInput.getDragY() != ScrollInput.NO_POSITION && totalTasks > tasksPerPage) {
+            int newTopIndex = calculateNewScrollPosition(scrollInput.getDragY(), totalTasks);
+            if (newTopIndex != topTaskIndex) {
+                topTaskIndex = newTopIndex;
+                dragged = true;
+            }
+        }
+
+        if (scrollInput.wasReleased()) {
+            isDraggingThumb = false;
+        }
+        return dragged;
     }
 
     public void updateBounds()
@@ -358,6 +345,7 @@ public class TaskList extends UIPage {
             return;
         }
 
+        long start = diagnostics.start();
         Widget collectionLogWrapper = window.getParent();
         wrapperX = collectionLogWrapper.getRelativeX();
         wrapperY = collectionLogWrapper.getRelativeY();
@@ -384,8 +372,8 @@ public class TaskList extends UIPage {
         updateScrollbar();
         refreshTasks(0);
 
-        bounds.setLocation(wrapperX + windowX + OFFSET_X, wrapperY + windowY + OFFSET_Y);
-        bounds.setSize(windowWidth - OFFSET_X, wrapperHeight);
+        bounds = new Rectangle(wrapperX + windowX + OFFSET_X, wrapperY + windowY + OFFSET_Y, windowWidth - OFFSET_X, wrapperHeight);
+        diagnostics.stop(HotPath.TASK_LIST_BOUNDS, start);
     }
 
     private void updateArrowPositions() {
@@ -395,20 +383,16 @@ public class TaskList extends UIPage {
         int upArrowY = ARROW_SPRITE_HEIGHT * 2 + ARROW_Y_OFFSET;
         int downArrowY = windowHeight - ARROW_SPRITE_HEIGHT * 2;
         int pageDownY = windowHeight - ARROW_SPRITE_HEIGHT;
-        forceWidgetPositionUpdate(pageUpButton.getWidget(), scrollbarX, pageUpY);
-        forceWidgetPositionUpdate(upArrowButton.getWidget(), scrollbarX, upArrowY);
-        forceWidgetPositionUpdate(downArrowButton.getWidget(), scrollbarX, downArrowY);
-        forceWidgetPositionUpdate(pageDownButton.getWidget(), scrollbarX, pageDownY);
+        pageUpButton.setPosition(scrollbarX, pageUpY);
+        upArrowButton.setPosition(scrollbarX, upArrowY);
+        downArrowButton.setPosition(scrollbarX, downArrowY);
+        pageDownButton.setPosition(scrollbarX, pageDownY);
     }
 
-    private void forceWidgetPositionUpdate(Widget button, int x, int y) {
-        button.setPos(x, y);
-        button.revalidate();
-    }
-
-    private void forceWidgetUpdate(Widget widget, int width, int height) {
-        widget.setSize(width, height);
-        widget.revalidate();
+    private WidgetState bufferedState(Widget widget) {
+        WidgetState state = new WidgetState(widget);
+        state.setBuffer(widgetPool.getMutationBuffer());
+        return state;
     }
 
     private void updateScrollbar() {
@@ -421,10 +405,10 @@ public class TaskList extends UIPage {
         int trackY = ARROW_SPRITE_HEIGHT * 3 + ARROW_Y_OFFSET;
         int scrollbarTrackHeight = windowHeight - trackY - ARROW_SPRITE_HEIGHT * 2;
         int scrollbarX = windowWidth - SCROLLBAR_WIDTH - 9;
-        scrollbarTrackWidget.setPos(scrollbarX + 2, trackY);
+        scrollbarTrack.setPosition(scrollbarX + 2, trackY);
 
         // Update position, arrows and thumbs
-        forceWidgetUpdate(scrollbarTrackWidget, SCROLLBAR_WIDTH, scrollbarTrackHeight);
+        scrollbarTrack.setSize(SCROLLBAR_WIDTH, scrollbarTrackHeight);
         updateArrowPositions();
         setScrollbarVisibility(true);
         updateScrollbarThumb(scrollbarTrackHeight, scrollbarX);
@@ -440,11 +424,11 @@ public class TaskList extends UIPage {
         int thumbX = scrollbarX + 2;
         // Update middle section (variable height)
         int middleHeight = Math.max(0, thumbHeight - 4);
-        scrollbarThumbMiddleWidget.setSize(SCROLLBAR_WIDTH, middleHeight);
-        // Force redraw all thumb components
-        forceWidgetPositionUpdate(scrollbarThumbTopWidget, thumbX, thumbStartY);
-        forceWidgetPositionUpdate(scrollbarThumbMiddleWidget, thumbX, thumbStartY + 2);
-        forceWidgetPositionUpdate(scrollbarThumbBottomWidget, thumbX, thumbStartY + thumbHeight - 2);
+        scrollbarThumbMiddle.setSize(SCROLLBAR_WIDTH, middleHeight);
+        // Move all thumb components, each is revalidated when the changes are flushed
+        scrollbarThumbTop.setPosition(thumbX, thumbStartY);
+        scrollbarThumbMiddle.setPosition(thumbX, thumbStartY + 2);
+        scrollbarThumbBottom.setPosition(thumbX, thumbStartY + thumbHeight - 2);
     }
 
     private int calculateNewScrollPosition(int mouseY, int totalTasks) {
@@ -463,40 +447,46 @@ public class TaskList extends UIPage {
     }
 
     private void setScrollbarVisibility(boolean visible) {
-        if (scrollbarTrackWidget != null) scrollbarTrackWidget.setHidden(!visible);
-        if (scrollbarThumbTopWidget != null) scrollbarThumbTopWidget.setHidden(!visible);
-        if (scrollbarThumbMiddleWidget != null) scrollbarThumbMiddleWidget.setHidden(!visible);
-        if (scrollbarThumbBottomWidget != null) scrollbarThumbBottomWidget.setHidden(!visible);
+        if (scrollbarTrack != null) scrollbarTrack.setHidden(!visible);
+        if (scrollbarThumbTop != null) scrollbarThumbTop.setHidden(!visible);
+        if (scrollbarThumbMiddle != null) scrollbarThumbMiddle.setHidden(!visible);
+        if (scrollbarThumbBottom != null) scrollbarThumbBottom.setHidden(!visible);
     }
 
     @Override
     public void setVisibility(boolean visible) {
         super.setVisibility(visible);
+        // The page toggles every widget directly, so the tiles no longer know what is hidden
+        tiles.forEach(TaskTile::forgetVisibility);
         setScrollbarVisibility(visible && this.isVisible());
-        if (visible) updateScrollbar();
+        if (visible) {
+            updateScrollbar();
+        } else {
+            bounds = new Rectangle();
+        }
     }
 
+    @Override
+    public void release(WidgetPool pool) {
+        super.release(pool);
+        tiles.clear();
+        scrollbarTrack.bind(null);
+        scrollbarThumbTop.bind(null);
+        scrollbarThumbMiddle.bind(null);
+        scrollbarThumbBottom.bind(null);
+        scrollInput.reset();
+        isDraggingThumb = false;
+        bounds = new Rectangle();
+    }
+
+    // The mouse handlers run on the AWT thread, so they only record the input for onBeforeRender
+
     public void handleMousePress(int mouseX, int mouseY) {
-        if (!this.isVisible()) return;
-        
-        if (isPointInScrollThumb(mouseX, mouseY)) {
-            isDraggingThumb = true;
-            dragStartY = mouseY;
-            dragStartTopIndex = topTaskIndex;
-        }
+        scrollInput.press(mouseX, mouseY);
     }
 
     public void handleMouseDrag(int mouseX, int mouseY) {
-        if (!isDraggingThumb || !this.isVisible()) return;
-        
-        if (totalTasks <= tasksPerPage) return;
-        
-        int newTopIndex = calculateNewScrollPosition(mouseY, totalTasks);
-        if (newTopIndex != topTaskIndex) {
-            topTaskIndex = newTopIndex;
-            // Needed otherwise we get laggy updates
-            clientThread.invoke(() -> refreshTasks(0));
-        }
+        scrollInput.drag(mouseY);
     }
 
     private boolean isPointInScrollThumb(int mouseX, int mouseY) {
@@ -514,6 +504,6 @@ public class TaskList extends UIPage {
     }
 
     public void handleMouseRelease() {
-        isDraggingThumb = false;
+        scrollInput.release();
     }
 }
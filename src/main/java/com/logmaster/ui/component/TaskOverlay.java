@@ -2,20 +2,27 @@ package com.logmaster.ui.component;
 
 import com.logmaster.LogMasterConfig;
 import com.logmaster.LogMasterPlugin;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.diagnostics.HotPath;
 import com.logmaster.domain.Task;
 import com.logmaster.persistence.SaveDataManager;
 import com.logmaster.ui.InterfaceManager;
 import net.runelite.client.config.RuneLiteConfig;
+import lombok.Getter;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.util.AsyncBufferedImage;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Singleton
 public class TaskOverlay extends Overlay {
@@ -49,49 +56,100 @@ public class TaskOverlay extends Overlay {
     @Inject
     private SaveDataManager saveDataManager;
 
+    @Inject
+    private Diagnostics diagnostics;
+
+    // The overlay is drawn once into this image and reused until the task, background colour or font changes
+    private BufferedImage cachedImage;
+    private Dimension cachedSize = EMPTY;
+    private Task cachedTask;
+    private Color cachedBackground;
+    private Font cachedFont;
+    // Bumped whenever an icon finishes loading, so a placeholder icon is redrawn once the real one arrives
+    private final AtomicInteger iconVersion = new AtomicInteger();
+    private int cachedIconVersion;
+
+    @Getter
+    private long rebuildCount;
+
     @Override
     public Dimension render(Graphics2D g) {
+        long start = diagnostics.start();
         try {
             Task currentTask = saveDataManager.currentTask();
             if (!config.displayCurrentTaskOverlay() || currentTask == null || interfaceManager.isDashboardOpen()) {
                 return EMPTY;
             }
 
-            Image icon = itemManager.getImage(currentTask.getItemID());
-            String task = currentTask.getDescription();
+            Color background = this.runeLiteConfig.overlayBackgroundColor();
+            Font font = g.getFont();
+            if (cachedImage == null || cachedIconVersion != iconVersion.get() || currentTask != cachedTask
+                    || !background.equals(cachedBackground) || !font.equals(cachedFont)) {
+                rebuild(g, currentTask, background, font);
+            }
+
+            g.drawImage(cachedImage, 0, 0, null);
+            return cachedSize;
+        } catch (Throwable t) {
+            t.printStackTrace();
+            return EMPTY;
+        } finally {
+            diagnostics.stop(HotPath.TASK_OVERLAY_RENDER, start);
+        }
+    }
+
+    private void rebuild(Graphics2D g, Task currentTask, Color background, Font font) {
+        Image icon = itemManager.getImage(currentTask.getItemID());
+        if (icon instanceof AsyncBufferedImage) {
+            ((AsyncBufferedImage) icon).onLoaded(iconVersion::incrementAndGet);
+        }
+        int version = iconVersion.get();
+        String task = currentTask.getDescription();
 
+        FontMetrics fm = g.getFontMetrics();
 
-            FontMetrics fm = g.getFontMetrics();
+        int width = fm.stringWidth(task) + WIDTH_ADDITION;
+        int height = MIN_HEIGHT;
 
-            int width = fm.stringWidth(task) + WIDTH_ADDITION;
-            int height = MIN_HEIGHT;
+        // Leave room for the border, drawRect covers width + 1 by height + 1 pixels
+        BufferedImage image = new BufferedImage(width + 1, height + 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D ig = image.createGraphics();
+        try {
+            ig.setRenderingHints(g.getRenderingHints());
+            ig.setFont(font);
 
-            Color border = outsideColor(this.runeLiteConfig.overlayBackgroundColor());
+            Color border = outsideColor(background);
 
-            g.setColor(this.runeLiteConfig.overlayBackgroundColor());
-            g.fillRect(0, 0, width, height);
-            g.setColor(border);
-            g.drawRect(0, 0, width, height);
+            ig.setColor(background);
+            ig.fillRect(0, 0, width, height);
+            ig.setColor(border);
+            ig.drawRect(0, 0, width, height);
 
 //            int textX = 46;
             int textX = width - fm.stringWidth(task) - 5;
             int textY = 30;
 
-            g.setFont(g.getFont().deriveFont(16f));
-            g.setColor(Color.BLACK);
-            g.drawString(task, textX + 1, textY + 1);
-            g.setColor(Color.WHITE);
-            g.drawString(task, textX, textY);
+            ig.setFont(font.deriveFont(16f));
+            ig.setColor(Color.BLACK);
+            ig.drawString(task, textX + 1, textY + 1);
+            ig.setColor(Color.WHITE);
+            ig.drawString(task, textX, textY);
 
             int iconWidth = icon.getWidth(null);
             int iconHeight = icon.getHeight(null);
 
-            g.drawImage(icon, 5 + 18 - (iconWidth / 2), 5 + 18 - (iconHeight / 2), iconWidth, iconHeight, null);
-            return new Dimension(width, height);
-        } catch (Throwable t) {
-            t.printStackTrace();
-            return EMPTY;
+            ig.drawImage(icon, 5 + 18 - (iconWidth / 2), 5 + 18 - (iconHeight / 2), iconWidth, iconHeight, null);
+        } finally {
+            ig.dispose();
         }
+
+        cachedImage = image;
+        cachedSize = new Dimension(width, height);
+        cachedTask = currentTask;
+        cachedBackground = background;
+        cachedFont = font;
+        cachedIconVersion = version;
+        rebuildCount++;
     }
 
     private Color outsideColor(Color base) {
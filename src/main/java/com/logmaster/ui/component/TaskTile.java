@@ -0,0 +1,182 @@
+package com.logmaster.ui.component;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.ui.generic.UIGraphic;
+import com.logmaster.ui.generic.UILabel;
+
+import static com.logmaster.ui.InterfaceConstants.TRANSPARENT_SPRITE_ID;
+
+/**
+ * A pooled task list tile, made up of a background, label and item image.
+ * The tile remembers what it was last told to show, and each update only
+ * writes to the widgets whose content actually differs. Every update returns
+ * a bit mask of the widgets it touched, see {@link #BACKGROUND}, {@link #LABEL}
+ * and {@link #IMAGE}.
+ */
+class TaskTile {
+    static final int BACKGROUND = 1;
+    static final int LABEL = 1 << 1;
+    static final int IMAGE = 1 << 2;
+
+    private static final int UNSET = Integer.MIN_VALUE;
+    private static final int PARKED_X = -1000;
+
+    private static final int LABEL_OFFSET_X = 60;
+    private static final int IMAGE_OFFSET_X = 12;
+    private static final int IMAGE_OFFSET_Y = 6;
+
+    private final UIGraphic background;
+    private final UILabel label;
+    private final UIGraphic image;
+
+    TaskCatalog catalog;
+    TaskTier tier;
+    int taskIndex = -1;
+
+    private boolean contentKnown = false;
+    private int sprite = UNSET;
+    private int x = UNSET;
+    private int y = UNSET;
+    private boolean parked = false;
+    private boolean visibilityKnown = false;
+    private boolean hidden = false;
+
+    TaskTile(UIGraphic background, UILabel label, UIGraphic image) {
+        this.background = background;
+        this.label = label;
+        this.image = image;
+    }
+
+    /**
+     * Binds the tile to a task in the catalog, rewriting the label and
+     * image only if it was showing something else
+     */
+    int bind(TaskCatalog catalog, TaskTier tier, int taskIndex) {
+        if (contentKnown && this.catalog == catalog && this.tier == tier && this.taskIndex == taskIndex) {
+            return 0;
+        }
+        this.catalog = catalog;
+        this.tier = tier;
+        this.taskIndex = taskIndex;
+        this.contentKnown = true;
+
+        String description = catalog.getDescription(tier, taskIndex);
+        label.getWidget().setName(description);
+        label.setText(description);
+        image.setItem(catalog.getItemId(tier, taskIndex));
+        return LABEL | IMAGE;
+    }
+
+    /**
+     * Unbinds the tile, leaving an empty background in place
+     */
+    int clear(int emptySprite) {
+        int changed = setSprite(emptySprite);
+        if (contentKnown && taskIndex < 0) {
+            return changed;
+        }
+        unbind();
+        label.getWidget().setName("");
+        label.setText("");
+        image.setItem(-1);
+        return changed | LABEL | IMAGE;
+    }
+
+    int setSprite(int sprite) {
+        if (this.sprite == sprite) {
+            return 0;
+        }
+        this.sprite = sprite;
+        background.setSprite(sprite);
+        return BACKGROUND;
+    }
+
+    int moveTo(int x, int y) {
+        if (!parked && this.x == x && this.y == y) {
+            return 0;
+        }
+        this.x = x;
+        this.y = y;
+        this.parked = false;
+
+        // Changing the position revalidates each widget when the changes are flushed
+        background.setPosition(x, y);
+        label.setPosition(x + LABEL_OFFSET_X, y);
+        image.setPosition(x + IMAGE_OFFSET_X, y + IMAGE_OFFSET_Y);
+        return BACKGROUND | LABEL | IMAGE;
+    }
+
+    /**
+     * Moves every widget of the tile offscreen, without changing its content
+     */
+    int park() {
+        if (parked) {
+            return 0;
+        }
+        parked = true;
+        x = UNSET;
+        y = UNSET;
+
+        background.setPosition(PARKED_X, 0);
+        label.setPosition(PARKED_X, 0);
+        image.setPosition(PARKED_X, 0);
+        return BACKGROUND | LABEL | IMAGE;
+    }
+
+    int show() {
+        if (visibilityKnown && !hidden) {
+            return 0;
+        }
+        setHidden(false);
+        return BACKGROUND | LABEL | IMAGE;
+    }
+
+    /**
+     * Hides the tile and blanks its content, so it doesn't flash stale
+     * content the next time it's shown
+     */
+    int hide() {
+        if (visibilityKnown && hidden) {
+            return 0;
+        }
+        setHidden(true);
+
+        parked = true;
+        x = UNSET;
+        y = UNSET;
+        background.setPosition(PARKED_X, 0);
+        label.setPosition(PARKED_X, 0);
+        image.setPosition(PARKED_X, 0);
+
+        sprite = TRANSPARENT_SPRITE_ID;
+        background.setSprite(TRANSPARENT_SPRITE_ID);
+        unbind();
+        label.getWidget().setName("");
+        label.setText("");
+        image.setItem(-1);
+        return BACKGROUND | LABEL | IMAGE;
+    }
+
+    /**
+     * Called when something other than the tile changed widget visibility
+     */
+    void forgetVisibility() {
+        visibilityKnown = false;
+    }
+
+    private void setHidden(boolean hidden) {
+        this.hidden = hidden;
+        this.visibilityKnown = true;
+        background.setVisibility(!hidden);
+        label.setVisibility(!hidden);
+        image.setVisibility(!hidden);
+    }
+
+    private void unbind() {
+        catalog = null;
+        tier = null;
+        taskIndex = -1;
+        contentKnown = true;
+    }
+}
@@ -0,0 +1,73 @@
+package com.logmaster.ui.generic;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the widgets changed during a frame so their changes can be
+ * applied together, once per frame, on the client thread
+ */
+public class MutationBuffer
+{
+	private final List<WidgetState> pending = new ArrayList<>();
+	private boolean flushing;
+
+	/* Totals since the buffer was created */
+	@Getter
+	private int flushedWidgets = 0;
+
+	@Getter
+	private int appliedProperties = 0;
+
+	@Getter
+	private int revalidations = 0;
+
+	/**
+	 * Queues a widget state to be flushed
+	 * @param state the changed state
+	 */
+	void enqueue(WidgetState state)
+	{
+		this.pending.add(state);
+	}
+
+	void onRevalidate()
+	{
+		this.revalidations++;
+	}
+
+	/**
+	 * Applies every queued change, must be called on the client thread
+	 */
+	public void flush()
+	{
+		if (this.flushing)
+			return;
+
+		this.flushing = true;
+		try
+		{
+			// Indexed, as states changed while flushing are appended and applied in the same pass
+			for (int i = 0; i < this.pending.size(); i++)
+			{
+				this.appliedProperties += this.pending.get(i).flush();
+				this.flushedWidgets++;
+			}
+			this.pending.clear();
+		}
+		finally
+		{
+			this.flushing = false;
+		}
+	}
+
+	/**
+	 * @return the number of widgets waiting to be flushed
+	 */
+	public int getPendingCount()
+	{
+		return this.pending.size();
+	}
+}
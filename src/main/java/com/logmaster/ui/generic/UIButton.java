@@ -26,6 +26,16 @@ public class UIButton extends UIComponent
 		this.spriteHover = -1;
 	}
 
+	@Override
+	public void dispose()
+	{
+		super.dispose();
+
+		// Blank the sprites
+		this.spriteStandard = -1;
+		this.spriteHover = -1;
+	}
+
 	@Override
 	protected void onMouseHover(ScriptEvent e)
 	{
@@ -33,7 +43,7 @@ public class UIButton extends UIComponent
 		super.onMouseHover(e);
 
 		// Update the sprite
-		this.getWidget().setSpriteId(this.spriteHover);
+		this.state.setSpriteId(this.spriteHover);
 	}
 
 	@Override
@@ -43,7 +53,7 @@ public class UIButton extends UIComponent
 		super.onMouseLeave(e);
 
 		// Update the sprite
-		this.getWidget().setSpriteId(this.spriteStandard);
+		this.state.setSpriteId(this.spriteStandard);
 	}
 
 	/**
@@ -57,7 +67,7 @@ public class UIButton extends UIComponent
 		this.spriteHover = hover;
 
 		// Update the widgets sprite
-		this.getWidget().setSpriteId(this.spriteStandard);
+		this.state.setSpriteId(this.spriteStandard);
 	}
 
 	/**
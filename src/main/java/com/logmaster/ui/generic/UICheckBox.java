@@ -100,6 +100,15 @@ public class UICheckBox extends UIComponent
 		this.updateCheckboxSprite();
 	}
 
+	@Override
+	public void dispose()
+	{
+		super.dispose();
+		this.label.dispose();
+		this.checkbox.dispose();
+		this.toggleListener = null;
+	}
+
 	@Override
 	public void setX(int x)
 	{
@@ -23,8 +23,12 @@ public abstract class UIComponent
 	@Getter
 	protected Widget widget;
 
+	/* The target widget properties, written on flush */
+	protected WidgetState state;
+
 	/* Actions and events */
 	protected List<MenuAction> actions;
+	private List<String> actionNames;
 
 	@Setter
 	private ComponentEventListener<UIComponent> hoverListener;
@@ -47,15 +51,11 @@ public abstract class UIComponent
 	 */
 	public UIComponent(Widget widget)
 	{
-		this.widget = widget;
-
-		// Assign the event listeners to the widget
-		this.widget.setOnOpListener((JavaScriptCallback) this::onActionSelected);
-		this.widget.setOnMouseOverListener((JavaScriptCallback) this::onMouseHover);
-		this.widget.setOnMouseLeaveListener((JavaScriptCallback) this::onMouseLeave);
-		this.widget.setHasListener(true);
-
 		this.actions = new ArrayList<>();
+		this.actionNames = new ArrayList<>();
+		this.state = new WidgetState(null);
+
+		this.attach(widget);
 	}
 
 	public UIComponent(Widget widget, Set<Integer> allowedTypes) {
@@ -77,6 +77,92 @@ public abstract class UIComponent
 	{
 		this.widget.setAction(actions.size(), action);
 		this.actions.add(callback);
+		this.actionNames.add(action);
+	}
+
+	/**
+	 * Binds the component to a widget, assigning the event listeners
+	 * and any menu actions the component already has
+	 * @param widget the underlying game widget
+	 */
+	public void attach(Widget widget)
+	{
+		this.widget = widget;
+		this.state.bind(widget);
+
+		// Assign the event listeners to the widget
+		this.widget.setOnOpListener((JavaScriptCallback) this::onActionSelected);
+		this.widget.setOnMouseOverListener((JavaScriptCallback) this::onMouseHover);
+		this.widget.setOnMouseLeaveListener((JavaScriptCallback) this::onMouseLeave);
+		this.widget.setHasListener(true);
+
+		// Restore the menu options
+		for (int i = 0; i < actionNames.size(); i++)
+			this.widget.setAction(i, actionNames.get(i));
+
+		this.onAttach();
+	}
+
+	/**
+	 * Called after the component has been bound to a widget, so
+	 * subclasses can apply their default widget properties
+	 */
+	protected void onAttach()
+	{
+	}
+
+	/**
+	 * Unbinds the component from its widget, removing the event listeners
+	 * so the widget no longer holds a reference to the component. The
+	 * component keeps its actions and listeners, and can be attached again.
+	 */
+	public void detach()
+	{
+		if (this.widget == null)
+			return;
+
+		this.widget.setOnOpListener((Object[]) null);
+		this.widget.setOnMouseOverListener((Object[]) null);
+		this.widget.setOnMouseLeaveListener((Object[]) null);
+		this.widget.setHasListener(false);
+
+		// Apply anything still queued before letting go of the widget
+		this.state.flush();
+		this.state.bind(null);
+		this.widget = null;
+	}
+
+	/**
+	 * Detaches the component and drops its actions and listeners, returning
+	 * it to a blank state so it can be handed out again by a {@link WidgetPool}
+	 */
+	public void dispose()
+	{
+		this.detach();
+		this.clearActions();
+		this.hoverListener = null;
+		this.leaveListener = null;
+		this.mousePressListener = null;
+		this.mouseDragListener = null;
+		this.mouseReleaseListener = null;
+	}
+
+	/**
+	 * Sets the buffer that the component's property changes are queued in,
+	 * so that they're applied once per frame
+	 * @param buffer the buffer, or null to apply changes immediately
+	 */
+	public void setMutationBuffer(MutationBuffer buffer)
+	{
+		this.state.setBuffer(buffer);
+	}
+
+	/**
+	 * @return true if the component is currently bound to a widget
+	 */
+	public boolean isAttached()
+	{
+		return this.widget != null;
 	}
 
 	/**
@@ -154,8 +240,7 @@ public abstract class UIComponent
 	 */
 	public void setSize(int width, int height)
 	{
-		this.widget.setOriginalWidth(width);
-		this.widget.setOriginalHeight(height);
+		this.state.setSize(width, height);
 	}
 
 	public void setSizeMode(int widthMode, int heightMode)
@@ -183,7 +268,7 @@ public abstract class UIComponent
 	 */
 	public void setX(int x)
 	{
-		this.widget.setOriginalX(x);
+		this.state.setX(x);
 	}
 
 	/**
@@ -193,7 +278,7 @@ public abstract class UIComponent
 	 */
 	public void setY(int y)
 	{
-		this.widget.setOriginalY(y);
+		this.state.setY(y);
 	}
 
 	/**
@@ -203,7 +288,7 @@ public abstract class UIComponent
 	 */
 	public int getX()
 	{
-		return this.widget.getOriginalX();
+		return this.state.getX();
 	}
 
 	/**
@@ -213,7 +298,7 @@ public abstract class UIComponent
 	 */
 	public int getY()
 	{
-		return this.widget.getOriginalY();
+		return this.state.getY();
 	}
 
 
@@ -223,7 +308,7 @@ public abstract class UIComponent
 	 */
 	public void setVisibility(boolean visible)
 	{
-		this.widget.setHidden(!visible);
+		this.state.setHidden(!visible);
 	}
 
 	/**
@@ -259,9 +344,10 @@ public abstract class UIComponent
 
 	public void clearActions() {
 		actions.clear();
+		actionNames.clear();
 	}
 
 	public void revalidate() {
-		this.widget.revalidate();
+		this.state.revalidate();
 	}
 }
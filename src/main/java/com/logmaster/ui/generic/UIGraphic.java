@@ -24,7 +24,7 @@ public class UIGraphic extends UIComponent
 	 */
 	public void setSprite(int spriteID)
 	{
-		this.getWidget().setSpriteId(spriteID);
+		this.state.setSpriteId(spriteID);
 	}
 
 	/**
@@ -33,6 +33,6 @@ public class UIGraphic extends UIComponent
 	 */
 	public void setItem(int itemID)
 	{
-		this.getWidget().setItemId(itemID);
+		this.state.setItemId(itemID);
 	}
 }
@@ -20,15 +20,19 @@ public class UILabel extends UIComponent
 	public UILabel(Widget labelWidget)
 	{
 		super(labelWidget);
+	}
 
+	@Override
+	protected void onAttach()
+	{
 		// Set default font and text colour
 		this.setFont(FontID.PLAIN_11);
 		this.setColour(Color.WHITE.getRGB());
 
 		// Set the alignment to centre and enable text shadowing
-		labelWidget.setXTextAlignment(WidgetTextAlignment.CENTER);
-		labelWidget.setYTextAlignment(WidgetTextAlignment.CENTER);
-		labelWidget.setTextShadowed(true);
+		this.getWidget().setXTextAlignment(WidgetTextAlignment.CENTER);
+		this.getWidget().setYTextAlignment(WidgetTextAlignment.CENTER);
+		this.getWidget().setTextShadowed(true);
 	}
 
 	/**
@@ -37,8 +41,7 @@ public class UILabel extends UIComponent
 	 */
 	public void setText(String text)
 	{
-
-		this.getWidget().setText(text);
+		this.state.setText(text);
 	}
 
 	/**
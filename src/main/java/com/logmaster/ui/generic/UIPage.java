@@ -51,4 +51,16 @@ public class UIPage
 	{
 		this.components.remove(component);
 	}
+
+	/**
+	 * Releases every component in the page back to a pool, leaving the page
+	 * empty. The page should not be used again afterwards.
+	 * @param pool the pool to release the components to
+	 */
+	public void release(WidgetPool pool)
+	{
+		this.visible = false;
+		this.components.forEach(pool::release);
+		this.components.clear();
+	}
 }
@@ -0,0 +1,110 @@
+package com.logmaster.ui.generic;
+
+import lombok.Getter;
+import net.runelite.api.widgets.Widget;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keeps released UI components, keyed by the type of widget they wrap, so
+ * that interfaces which are rebuilt every time they're opened can bind
+ * their existing components to the new widgets rather than creating new ones
+ */
+public class WidgetPool
+{
+	private final Map<Integer, Map<Class<?>, Deque<UIComponent>>> free = new HashMap<>();
+
+	@Getter
+	private final MutationBuffer mutationBuffer;
+
+	@Getter
+	private int createdCount = 0;
+
+	@Getter
+	private int reusedCount = 0;
+
+	/**
+	 * Constructs a new pool
+	 * @param mutationBuffer the buffer given to every component the pool hands out,
+	 *                       or null to have them apply their changes immediately
+	 */
+	public WidgetPool(MutationBuffer mutationBuffer)
+	{
+		this.mutationBuffer = mutationBuffer;
+	}
+
+	/**
+	 * Creates a child widget and binds a component to it, reusing a
+	 * released component of the same class where there is one
+	 * @param parent the layer to create the widget in
+	 * @param widgetType the type of widget to create, specified in {@link net.runelite.api.widgets.WidgetType}
+	 * @param componentClass the class of component required
+	 * @param factory creates a new component, if none can be reused
+	 * @return the component, attached to the new widget
+	 */
+	public <T extends UIComponent> T obtain(Widget parent, int widgetType, Class<T> componentClass, Function<Widget, T> factory)
+	{
+		Widget widget = parent.createChild(-1, widgetType);
+
+		UIComponent component = queue(widgetType, componentClass).poll();
+		if (component == null)
+		{
+			this.createdCount++;
+			component = factory.apply(widget);
+		}
+		else
+		{
+			this.reusedCount++;
+			component.attach(widget);
+		}
+
+		component.setMutationBuffer(this.mutationBuffer);
+		return componentClass.cast(component);
+	}
+
+	/**
+	 * Disposes a component and keeps it for reuse
+	 * @param component the component to release
+	 */
+	public void release(UIComponent component)
+	{
+		if (!component.isAttached())
+			return;
+
+		int widgetType = component.getWidget().getType();
+		component.dispose();
+		queue(widgetType, component.getClass()).push(component);
+	}
+
+	/**
+	 * @return the number of components waiting to be reused
+	 */
+	public int getFreeCount()
+	{
+		int count = 0;
+		for (Map<Class<?>, Deque<UIComponent>> byClass : free.values())
+		{
+			for (Deque<UIComponent> queue : byClass.values())
+				count += queue.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Drops every released component
+	 */
+	public void clear()
+	{
+		this.free.clear();
+	}
+
+	private Deque<UIComponent> queue(int widgetType, Class<?> componentClass)
+	{
+		return free.computeIfAbsent(widgetType, t -> new HashMap<>())
+			.computeIfAbsent(componentClass, c -> new ArrayDeque<>());
+	}
+}
@@ -0,0 +1,244 @@
+package com.logmaster.ui.generic;
+
+import net.runelite.api.widgets.Widget;
+
+import java.util.Objects;
+
+/**
+ * Tracks the properties a widget should have alongside the ones last written
+ * to it. Setters only record the target value; when the state is flushed, only
+ * the properties which differ from what was last applied are written, followed
+ * by at most one revalidation. Without a {@link MutationBuffer} each setter
+ * flushes straight away, otherwise flushing happens once per frame.
+ */
+public class WidgetState
+{
+	private static final int UNSET = Integer.MIN_VALUE;
+	private static final int HIDDEN = 1;
+	private static final int SHOWN = 0;
+
+	private Widget widget;
+	private MutationBuffer buffer;
+	private boolean queued;
+
+	private int x = UNSET, appliedX = UNSET;
+	private int y = UNSET, appliedY = UNSET;
+	private int width = UNSET, appliedWidth = UNSET;
+	private int height = UNSET, appliedHeight = UNSET;
+	private int hidden = UNSET, appliedHidden = UNSET;
+	private int spriteId = UNSET, appliedSpriteId = UNSET;
+	private int itemId = UNSET, appliedItemId = UNSET;
+	private String text, appliedText;
+	private boolean revalidate;
+
+	/**
+	 * Constructs a new state for a widget
+	 * @param widget the widget, may be null until bound
+	 */
+	public WidgetState(Widget widget)
+	{
+		this.bind(widget);
+	}
+
+	/**
+	 * Binds the state to a new widget, forgetting every target and applied
+	 * value, as nothing is known about the new widget yet
+	 * @param widget the widget, or null to unbind
+	 */
+	public void bind(Widget widget)
+	{
+		this.widget = widget;
+		this.x = this.appliedX = UNSET;
+		this.y = this.appliedY = UNSET;
+		this.width = this.appliedWidth = UNSET;
+		this.height = this.appliedHeight = UNSET;
+		this.hidden = this.appliedHidden = UNSET;
+		this.spriteId = this.appliedSpriteId = UNSET;
+		this.itemId = this.appliedItemId = UNSET;
+		this.text = this.appliedText = null;
+		this.revalidate = false;
+	}
+
+	/**
+	 * Sets the buffer used to defer writes until the next flush
+	 * @param buffer the buffer, or null to write immediately
+	 */
+	public void setBuffer(MutationBuffer buffer)
+	{
+		this.flush();
+		this.buffer = buffer;
+	}
+
+	public void setX(int x)
+	{
+		this.x = x;
+		this.changed();
+	}
+
+	public void setY(int y)
+	{
+		this.y = y;
+		this.changed();
+	}
+
+	/**
+	 * @return the target x position, or the widget's own if none has been set
+	 */
+	public int getX()
+	{
+		return this.x != UNSET ? this.x : this.widget.getOriginalX();
+	}
+
+	/**
+	 * @return the target y position, or the widget's own if none has been set
+	 */
+	public int getY()
+	{
+		return this.y != UNSET ? this.y : this.widget.getOriginalY();
+	}
+
+	public void setPosition(int x, int y)
+	{
+		this.x = x;
+		this.y = y;
+		this.changed();
+	}
+
+	public void setSize(int width, int height)
+	{
+		this.width = width;
+		this.height = height;
+		this.changed();
+	}
+
+	public void setHidden(boolean hidden)
+	{
+		this.hidden = hidden ? HIDDEN : SHOWN;
+		this.changed();
+	}
+
+	public void setSpriteId(int spriteId)
+	{
+		this.spriteId = spriteId;
+		this.changed();
+	}
+
+	public void setItemId(int itemId)
+	{
+		this.itemId = itemId;
+		this.changed();
+	}
+
+	public void setText(String text)
+	{
+		this.text = text;
+		this.changed();
+	}
+
+	/**
+	 * Requests a revalidation on the next flush, even if no geometry changed
+	 */
+	public void revalidate()
+	{
+		this.revalidate = true;
+		this.changed();
+	}
+
+	/**
+	 * Writes every property which differs from the last applied value,
+	 * then revalidates the widget once if anything requires it
+	 * @return the number of properties written
+	 */
+	public int flush()
+	{
+		this.queued = false;
+		if (this.widget == null)
+			return 0;
+
+		int written = 0;
+		boolean geometryChanged = false;
+
+		if (this.x != UNSET && this.x != this.appliedX)
+		{
+			this.widget.setOriginalX(this.x);
+			this.appliedX = this.x;
+			geometryChanged = true;
+			written++;
+		}
+
+		if (this.y != UNSET && this.y != this.appliedY)
+		{
+			this.widget.setOriginalY(this.y);
+			this.appliedY = this.y;
+			geometryChanged = true;
+			written++;
+		}
+
+		if (this.width != UNSET && this.width != this.appliedWidth)
+		{
+			this.widget.setOriginalWidth(this.width);
+			this.appliedWidth = this.width;
+			geometryChanged = true;
+			written++;
+		}
+
+		if (this.height != UNSET && this.height != this.appliedHeight)
+		{
+			this.widget.setOriginalHeight(this.height);
+			this.appliedHeight = this.height;
+			geometryChanged = true;
+			written++;
+		}
+
+		if (this.hidden != UNSET && this.hidden != this.appliedHidden)
+		{
+			this.widget.setHidden(this.hidden == HIDDEN);
+			this.appliedHidden = this.hidden;
+			written++;
+		}
+
+		if (this.spriteId != UNSET && this.spriteId != this.appliedSpriteId)
+		{
+			this.widget.setSpriteId(this.spriteId);
+			this.appliedSpriteId = this.spriteId;
+			written++;
+		}
+
+		if (this.itemId != UNSET && this.itemId != this.appliedItemId)
+		{
+			this.widget.setItemId(this.itemId);
+			this.appliedItemId = this.itemId;
+			written++;
+		}
+
+		if (this.text != null && !Objects.equals(this.text, this.appliedText))
+		{
+			this.widget.setText(this.text);
+			this.appliedText = this.text;
+			written++;
+		}
+
+		if (geometryChanged || this.revalidate)
+		{
+			this.widget.revalidate();
+			this.revalidate = false;
+			if (this.buffer != null)
+				this.buffer.onRevalidate();
+		}
+
+		return written;
+	}
+
+	private void changed()
+	{
+		if (this.buffer == null)
+		{
+			this.flush();
+		}
+		else if (!this.queued)
+		{
+			this.queued = true;
+			this.buffer.enqueue(this);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.logmaster.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single thread the plugin's background work runs on, such as writing
+ * the save data and resizing chat icons. Tasks run one at a time in the
+ * order they were submitted, so they never race with each other; anything
+ * that needs to touch widgets or client state must hand back to the client
+ * thread. The thread is started on first use and stopped when the plugin
+ * shuts down.
+ */
+@Slf4j
+@Singleton
+public class BackgroundExecutor {
+    private static final String THREAD_NAME = "log-master-background";
+
+    private ScheduledExecutorService executor;
+
+    public void execute(Runnable task) {
+        get().execute(logExceptions(task));
+    }
+
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return get().schedule(logExceptions(task), delay, unit);
+    }
+
+    /**
+     * Stops the thread once the tasks already submitted have run. Delayed
+     * tasks which haven't started yet are dropped.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private synchronized ScheduledExecutorService get() {
+        if (executor == null) {
+            ScheduledThreadPoolExecutor created = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            created.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor = created;
+        }
+        return executor;
+    }
+
+    private static Runnable logExceptions(Runnable task) {
+        // The executor would otherwise keep the exception in a future nobody looks at
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Uncaught exception in background task", e);
+            }
+        };
+    }
+}
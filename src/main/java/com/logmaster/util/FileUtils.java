@@ -2,11 +2,24 @@ package com.logmaster.util;
 
 import com.google.gson.Gson;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 public class FileUtils {
 
+    /**
+     * Reads a definition resource into an object
+     *
+     * @param <T> the type produced by the decoder
+     */
+    @FunctionalInterface
+    public interface ResourceDecoder<T> {
+        T decode(Reader reader) throws IOException;
+    }
 
     /**
      * Loads a definition resource from a JSON file
@@ -26,4 +39,23 @@ public class FileUtils {
         // Load the objects from the JSON file
         return gson.fromJson(definitionReader, classType);
     }
+
+    /**
+     * Loads a definition resource using a custom decoder
+     *
+     * @param resourceClass the class the resource is located relative to
+     * @param resource      the name of the resource (file name)
+     * @param decoder       reads the resource into the resulting object
+     * @param <T>           the type produced by the decoder
+     * @return the data read from the definition file
+     */
+    public static <T> T loadDefinitionResource(Class<?> resourceClass, String resource, ResourceDecoder<T> decoder) {
+        InputStream resourceStream = resourceClass.getResourceAsStream(resource);
+        assert resourceStream != null;
+        try (Reader definitionReader = new InputStreamReader(resourceStream, StandardCharsets.UTF_8)) {
+            return decoder.decode(definitionReader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load definition resource " + resource, e);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package com.logmaster.diagnostics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RollingTimerTest
+{
+	@Test
+	public void percentilesOfRecentRuns()
+	{
+		RollingTimer timer = new RollingTimer();
+		for (int i = 1; i <= 100; i++)
+		{
+			timer.record(i);
+		}
+
+		RollingTimer.Summary summary = timer.summarize();
+		assertEquals(100, summary.getCount());
+		assertEquals(50, summary.getP50Nanos());
+		assertEquals(99, summary.getP99Nanos());
+		assertEquals(100, summary.getMaxNanos());
+		assertEquals(5050, summary.getTotalNanos());
+	}
+
+	@Test
+	public void oldRunsDropOutOfThePercentiles()
+	{
+		RollingTimer timer = new RollingTimer();
+		for (int i = 0; i < RollingTimer.SAMPLE_COUNT; i++)
+		{
+			timer.record(1000);
+		}
+		for (int i = 0; i < RollingTimer.SAMPLE_COUNT; i++)
+		{
+			timer.record(10);
+		}
+
+		RollingTimer.Summary summary = timer.summarize();
+		assertEquals(2L * RollingTimer.SAMPLE_COUNT, summary.getCount());
+		assertEquals(10, summary.getP50Nanos());
+		assertEquals(10, summary.getP99Nanos());
+		// The maximum covers every run since the last reset
+		assertEquals(1000, summary.getMaxNanos());
+	}
+
+	@Test
+	public void emptyTimerSummarisesToZero()
+	{
+		RollingTimer.Summary summary = new RollingTimer().summarize();
+		assertEquals(0, summary.getCount());
+		assertEquals(0, summary.getP50Nanos());
+		assertEquals(0, summary.getP99Nanos());
+	}
+}
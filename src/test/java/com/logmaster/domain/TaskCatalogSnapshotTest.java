@@ -0,0 +1,47 @@
+package com.logmaster.domain;
+
+import com.logmaster.task.TaskListDecoder;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class TaskCatalogSnapshotTest
+{
+	@Test
+	public void snapshotMatchesJsonTaskList() throws Exception
+	{
+		TaskCatalog fromJson;
+		try (Reader reader = new InputStreamReader(TaskCatalog.class.getResourceAsStream("default-tasks.json"), StandardCharsets.UTF_8))
+		{
+			fromJson = TaskListDecoder.decode(reader);
+		}
+
+		TaskCatalog fromSnapshot;
+		try (InputStream snapshot = TaskCatalog.class.getResourceAsStream("default-tasks.bin"))
+		{
+			assertNotNull("The compileTaskCatalog task should have produced a snapshot", snapshot);
+			fromSnapshot = TaskCatalogSnapshot.read(new BufferedInputStream(snapshot));
+		}
+
+		for (TaskTier tier : TaskTier.values())
+		{
+			assertEquals(tier.name(), fromJson.size(tier), fromSnapshot.size(tier));
+			for (int i = 0; i < fromJson.size(tier); i++)
+			{
+				assertEquals(fromJson.getTaskId(tier, i), fromSnapshot.getTaskId(tier, i));
+				assertEquals(fromJson.getItemId(tier, i), fromSnapshot.getItemId(tier, i));
+				assertEquals(fromJson.getDescription(tier, i), fromSnapshot.getDescription(tier, i));
+			}
+		}
+		assertEquals(fromJson.getDescriptionCount(), fromSnapshot.getDescriptionCount());
+		assertArrayEquals(fromJson.getDistinctItemIds(), fromSnapshot.getDistinctItemIds());
+	}
+}
@@ -0,0 +1,81 @@
+package com.logmaster.headless;
+
+import net.runelite.api.Client;
+import net.runelite.api.IndexedSprite;
+import net.runelite.api.widgets.Widget;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A stand-in for the game client, serving registered widgets and mod icons.
+ * The calling thread is always treated as the client thread; anything else
+ * the client is asked returns a zero value.
+ */
+public class HeadlessClient implements InvocationHandler
+{
+	private final Client proxy;
+	private final Map<Integer, Widget> widgets = new HashMap<>();
+	private IndexedSprite[] modIcons = new IndexedSprite[0];
+	private int gameCycle = 0;
+
+	public HeadlessClient()
+	{
+		this.proxy = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class}, this);
+	}
+
+	public Client getClient()
+	{
+		return proxy;
+	}
+
+	/**
+	 * Makes a widget available from {@link Client#getWidget(int)}
+	 * @param componentId the packed group and child id
+	 */
+	public void setWidget(int componentId, Widget widget)
+	{
+		widgets.put(componentId, widget);
+	}
+
+	public void removeWidget(int componentId)
+	{
+		widgets.remove(componentId);
+	}
+
+	public void advanceGameCycle()
+	{
+		gameCycle++;
+	}
+
+	@Override
+	public Object invoke(Object p, Method method, Object[] args)
+	{
+		switch (method.getName())
+		{
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return "HeadlessClient";
+			case "getWidget":
+				int componentId = args.length == 2 ? ((int) args[0] << 16) | (int) args[1] : (int) args[0];
+				return widgets.get(componentId);
+			case "getModIcons":
+				return modIcons;
+			case "setModIcons":
+				modIcons = (IndexedSprite[]) args[0];
+				return null;
+			case "getGameCycle":
+				return gameCycle;
+			case "isClientThread":
+				return true;
+			default:
+				return HeadlessWidget.defaultValue(method.getReturnType());
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.logmaster.headless;
+
+import net.runelite.client.callback.ClientThread;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A client thread which treats the calling thread as the client thread.
+ * {@link #invoke(Runnable)} runs straight away, anything deferred is
+ * queued until {@link #runPending()} is called, standing in for the next
+ * client tick.
+ */
+public class HeadlessClientThread extends ClientThread
+{
+	private final Queue<BooleanSupplier> pending = new ArrayDeque<>();
+
+	@Override
+	public void invoke(Runnable r)
+	{
+		r.run();
+	}
+
+	@Override
+	public void invoke(BooleanSupplier r)
+	{
+		if (!r.getAsBoolean())
+		{
+			pending.add(r);
+		}
+	}
+
+	@Override
+	public void invokeLater(Runnable r)
+	{
+		pending.add(() -> {
+			r.run();
+			return true;
+		});
+	}
+
+	@Override
+	public void invokeLater(BooleanSupplier r)
+	{
+		pending.add(r);
+	}
+
+	@Override
+	public void invokeAtTickEnd(Runnable r)
+	{
+		invokeLater(r);
+	}
+
+	/**
+	 * Runs everything queued so far. Tasks which return false, or which are queued
+	 * while running, are kept for the next call.
+	 * @return the number of tasks which completed
+	 */
+	public int runPending()
+	{
+		int completed = 0;
+		for (int i = pending.size(); i > 0; i--)
+		{
+			BooleanSupplier task = pending.poll();
+			if (task.getAsBoolean())
+			{
+				completed++;
+			}
+			else
+			{
+				pending.add(task);
+			}
+		}
+		return completed;
+	}
+
+	public int getPendingCount()
+	{
+		return pending.size();
+	}
+}
@@ -0,0 +1,164 @@
+package com.logmaster.headless;
+
+import com.logmaster.LogMasterConfig;
+import com.logmaster.LogMasterPlugin;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.persistence.SaveDataManager;
+import com.logmaster.task.TaskListState;
+import com.logmaster.task.TaskService;
+import com.logmaster.ui.InterfaceManager;
+import com.logmaster.util.BackgroundExecutor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The plugin's services wired up by hand around a given task catalog and
+ * save data, in place of the injector. Nothing here touches the network or
+ * the RuneLite config; the save data is never written out.
+ */
+public class HeadlessServices
+{
+	private final HeadlessClient client = new HeadlessClient();
+	private final HeadlessClientThread clientThread = new HeadlessClientThread();
+	private final HeadlessUi ui = new HeadlessUi();
+	private final Diagnostics diagnostics = new Diagnostics();
+
+	private final LogMasterConfig config;
+	private final SaveDataManager saveDataManager;
+	private final TaskService taskService;
+	private final LogMasterPlugin plugin;
+	private final InterfaceManager interfaceManager;
+
+	public HeadlessServices(TaskCatalog catalog, SaveData saveData)
+	{
+		config = config();
+
+		saveDataManager = new SaveDataManager();
+		inject(saveDataManager, "client", client.getClient());
+		inject(saveDataManager, "saveData", saveData);
+		inject(saveDataManager, "diagnostics", diagnostics);
+		inject(saveDataManager, "executor", new BackgroundExecutor());
+
+		taskService = new TaskService();
+		inject(taskService, "config", config);
+		inject(taskService, "clientThread", clientThread);
+		inject(taskService, "saveDataManager", saveDataManager);
+		inject(taskService, "state", new AtomicReference<>(TaskListState.EMPTY.withLocalList(catalog)));
+		inject(taskService, "diagnostics", diagnostics);
+
+		plugin = new LogMasterPlugin();
+		interfaceManager = new InterfaceManager();
+
+		inject(plugin, "client", client.getClient());
+		inject(plugin, "clientThread", clientThread);
+		inject(plugin, "config", config);
+		inject(plugin, "taskService", taskService);
+		inject(plugin, "saveDataManager", saveDataManager);
+		inject(plugin, "interfaceManager", interfaceManager);
+		inject(plugin, "diagnostics", diagnostics);
+
+		inject(interfaceManager, "client", client.getClient());
+		inject(interfaceManager, "clientThread", clientThread);
+		inject(interfaceManager, "config", config);
+		inject(interfaceManager, "plugin", plugin);
+		inject(interfaceManager, "taskService", taskService);
+		inject(interfaceManager, "saveDataManager", saveDataManager);
+		inject(interfaceManager, "diagnostics", diagnostics);
+	}
+
+	public HeadlessClient getClient()
+	{
+		return client;
+	}
+
+	public HeadlessClientThread getClientThread()
+	{
+		return clientThread;
+	}
+
+	public HeadlessUi getUi()
+	{
+		return ui;
+	}
+
+	public Diagnostics getDiagnostics()
+	{
+		return diagnostics;
+	}
+
+	public LogMasterConfig getConfig()
+	{
+		return config;
+	}
+
+	public SaveDataManager getSaveDataManager()
+	{
+		return saveDataManager;
+	}
+
+	public TaskService getTaskService()
+	{
+		return taskService;
+	}
+
+	public LogMasterPlugin getPlugin()
+	{
+		return plugin;
+	}
+
+	public InterfaceManager getInterfaceManager()
+	{
+		return interfaceManager;
+	}
+
+	/**
+	 * A config using the bundled task list and showing every tier, with every
+	 * other option at its zero value
+	 */
+	public static LogMasterConfig config()
+	{
+		return (LogMasterConfig) Proxy.newProxyInstance(LogMasterConfig.class.getClassLoader(), new Class<?>[]{LogMasterConfig.class},
+			(proxy, method, args) -> {
+				switch (method.getName())
+				{
+					case "hideBelow":
+						return TaskTier.EASY;
+					case "loadRemoteTaskList":
+						return false;
+					default:
+						return HeadlessWidget.defaultValue(method.getReturnType());
+				}
+			});
+	}
+
+	/**
+	 * Sets a field which would otherwise be injected
+	 */
+	public static void inject(Object target, String fieldName, Object value)
+	{
+		for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass())
+		{
+			try
+			{
+				Field field = type.getDeclaredField(fieldName);
+				field.setAccessible(true);
+				field.set(target, value);
+				return;
+			}
+			catch (NoSuchFieldException e)
+			{
+				// Look in the superclass
+			}
+			catch (IllegalAccessException e)
+			{
+				throw new IllegalStateException(e);
+			}
+		}
+		throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + fieldName);
+	}
+}
@@ -0,0 +1,144 @@
+package com.logmaster.headless;
+
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetType;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Creates {@link HeadlessWidget}s and counts the changes made to them, so
+ * tests and benchmarks can drive the interface without a game client and
+ * check how many widget writes an operation costs. Counts accumulate until
+ * {@link #resetCounts()} is called.
+ */
+public class HeadlessUi
+{
+	private final Map<Widget, HeadlessWidget> widgets = new IdentityHashMap<>();
+	private final Map<String, Integer> setterCounts = new HashMap<>();
+	private final Map<HeadlessWidget, Integer> revalidationsByWidget = new IdentityHashMap<>();
+	private int nextId = 1;
+
+	private int setterCalls = 0;
+	private int revalidations = 0;
+	private int widgetsCreated = 0;
+
+	/**
+	 * Creates a layer of a fixed size, inside a parent layer of the same size,
+	 * like the collection log's content window
+	 */
+	public Widget createWindow(int width, int height)
+	{
+		HeadlessWidget wrapper = createWidget(WidgetType.LAYER, null);
+		wrapper.setBounds(width, height);
+		HeadlessWidget window = createWidget(WidgetType.LAYER, wrapper.getWidget());
+		window.setBounds(width, height);
+		return window.getWidget();
+	}
+
+	HeadlessWidget createWidget(int type, Widget parent)
+	{
+		HeadlessWidget widget = new HeadlessWidget(this, nextId++, type, parent);
+		widgets.put(widget.getWidget(), widget);
+		widgetsCreated++;
+		return widget;
+	}
+
+	/**
+	 * @return the headless widget behind a widget created by this harness
+	 */
+	public HeadlessWidget get(Widget widget)
+	{
+		if (!Proxy.isProxyClass(widget.getClass()) || !widgets.containsKey(widget))
+		{
+			throw new IllegalArgumentException(widget + " was not created by this harness");
+		}
+		return widgets.get(widget);
+	}
+
+	/**
+	 * Finds the widget under a root which offers a menu action, skipping
+	 * widgets whose component has since been detached
+	 * @return the widget, or null if there is none
+	 */
+	public HeadlessWidget findAction(Widget root, String action)
+	{
+		HeadlessWidget widget = get(root);
+		if (widget.getActions().contains(action) && widget.hasOpListener())
+		{
+			return widget;
+		}
+		for (Widget child : root.getChildren())
+		{
+			HeadlessWidget found = findAction(child, action);
+			if (found != null)
+			{
+				return found;
+			}
+		}
+		return null;
+	}
+
+	void onSetter(String name)
+	{
+		setterCalls++;
+		setterCounts.merge(name, 1, Integer::sum);
+	}
+
+	void onRevalidate(HeadlessWidget widget)
+	{
+		revalidations++;
+		revalidationsByWidget.merge(widget, 1, Integer::sum);
+	}
+
+	/**
+	 * @return the number of setter calls made on any widget
+	 */
+	public int getSetterCalls()
+	{
+		return setterCalls;
+	}
+
+	/**
+	 * @param setter the setter's method name, e.g. {@code setText}
+	 * @return the number of calls made to the setter on any widget
+	 */
+	public int getSetterCalls(String setter)
+	{
+		return setterCounts.getOrDefault(setter, 0);
+	}
+
+	public int getRevalidations()
+	{
+		return revalidations;
+	}
+
+	/**
+	 * @return the most times any single widget has been revalidated
+	 */
+	public int getMaxRevalidationsPerWidget()
+	{
+		int max = 0;
+		for (int count : revalidationsByWidget.values())
+		{
+			max = Math.max(max, count);
+		}
+		return max;
+	}
+
+	public int getWidgetsCreated()
+	{
+		return widgetsCreated;
+	}
+
+	public void resetCounts()
+	{
+		setterCounts.clear();
+		revalidationsByWidget.clear();
+		setterCalls = 0;
+		revalidations = 0;
+		widgetsCreated = 0;
+	}
+}
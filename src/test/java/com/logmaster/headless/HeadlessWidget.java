@@ -0,0 +1,243 @@
+package com.logmaster.headless;
+
+import net.runelite.api.ScriptEvent;
+import net.runelite.api.widgets.JavaScriptCallback;
+import net.runelite.api.widgets.Widget;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory stand-in for a game widget. Setters store their value, so
+ * getters read back what was last written, and every setter call and
+ * revalidation is reported to the owning {@link HeadlessUi}. As in the
+ * client, the computed size and position only follow the original ones
+ * once the widget has been revalidated.
+ */
+public class HeadlessWidget implements InvocationHandler
+{
+	private final HeadlessUi ui;
+	private final Widget proxy;
+	private final int id;
+	private final int type;
+	private final Widget parent;
+
+	private final Map<String, Object> properties = new HashMap<>();
+	private final List<Widget> children = new ArrayList<>();
+	private final List<String> actions = new ArrayList<>();
+	private int revalidations = 0;
+
+	HeadlessWidget(HeadlessUi ui, int id, int type, Widget parent)
+	{
+		this.ui = ui;
+		this.id = id;
+		this.type = type;
+		this.parent = parent;
+		this.proxy = (Widget) Proxy.newProxyInstance(Widget.class.getClassLoader(), new Class<?>[]{Widget.class}, this);
+
+		properties.put("SpriteId", -1);
+		properties.put("ItemId", -1);
+	}
+
+	public Widget getWidget()
+	{
+		return proxy;
+	}
+
+	/**
+	 * @return the number of times the widget has been revalidated
+	 */
+	public int getRevalidations()
+	{
+		return revalidations;
+	}
+
+	/**
+	 * @return the menu actions currently set on the widget
+	 */
+	public List<String> getActions()
+	{
+		return actions;
+	}
+
+	/**
+	 * @return true if the widget holds an op listener, and with it a reference to whatever set it
+	 */
+	public boolean hasOpListener()
+	{
+		Object[] listener = (Object[]) properties.get("OnOpListener");
+		return listener != null && listener.length > 0 && listener[0] != null;
+	}
+
+	/**
+	 * Selects a menu action, calling the widget's op listener as the client would
+	 * @param action the action name, as set on the widget
+	 */
+	public void selectAction(String action)
+	{
+		int index = actions.indexOf(action);
+		if (index < 0)
+		{
+			throw new IllegalArgumentException("No action '" + action + "' in " + actions);
+		}
+		if (!hasOpListener())
+		{
+			throw new IllegalStateException("The widget has no op listener");
+		}
+
+		int op = index + 1;
+		ScriptEvent event = (ScriptEvent) Proxy.newProxyInstance(ScriptEvent.class.getClassLoader(), new Class<?>[]{ScriptEvent.class},
+			(p, method, args) -> {
+				switch (method.getName())
+				{
+					case "getOp":
+						return op;
+					case "getSource":
+						return proxy;
+					default:
+						return defaultValue(method.getReturnType());
+				}
+			});
+		((JavaScriptCallback) ((Object[]) properties.get("OnOpListener"))[0]).run(event);
+	}
+
+	/**
+	 * Sets the computed size directly, as the client does for its own interfaces
+	 */
+	public void setBounds(int width, int height)
+	{
+		properties.put("OriginalWidth", width);
+		properties.put("OriginalHeight", height);
+		properties.put("Width", width);
+		properties.put("Height", height);
+	}
+
+	@Override
+	public Object invoke(Object p, Method method, Object[] args)
+	{
+		String name = method.getName();
+		switch (name)
+		{
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "equals":
+				return proxy == args[0];
+			case "toString":
+				return "HeadlessWidget[id=" + id + ", type=" + type + "]";
+			case "getId":
+				return id;
+			case "getType":
+				return type;
+			case "getParent":
+				return parent;
+			case "getParentId":
+				return parent != null ? parent.getId() : -1;
+			case "createChild":
+				// Both the (index, type) and (type) overloads end with the type
+				return createChild((int) args[args.length - 1]);
+			case "getChildren":
+			case "getDynamicChildren":
+				return children.toArray(new Widget[0]);
+			case "getStaticChildren":
+			case "getNestedChildren":
+				return new Widget[0];
+			case "deleteAllChildren":
+				children.clear();
+				return null;
+			case "getActions":
+				return actions.toArray(new String[0]);
+			case "clearActions":
+				ui.onSetter(name);
+				actions.clear();
+				return null;
+			case "setAction":
+				ui.onSetter(name);
+				setAction((int) args[0], (String) args[1]);
+				return null;
+			case "setPos":
+				ui.onSetter(name);
+				properties.put("OriginalX", args[0]);
+				properties.put("OriginalY", args[1]);
+				return proxy;
+			case "setSize":
+				ui.onSetter(name);
+				properties.put("OriginalWidth", args[0]);
+				properties.put("OriginalHeight", args[1]);
+				return proxy;
+			case "revalidate":
+			case "revalidateScroll":
+				revalidations++;
+				ui.onRevalidate(this);
+				properties.put("RelativeX", get("OriginalX"));
+				properties.put("RelativeY", get("OriginalY"));
+				properties.put("Width", get("OriginalWidth"));
+				properties.put("Height", get("OriginalHeight"));
+				return null;
+			case "getRelativeX":
+			case "getRelativeY":
+			case "getWidth":
+			case "getHeight":
+				return get(name.substring(3));
+			default:
+				break;
+		}
+
+		if (name.startsWith("set") && args != null)
+		{
+			ui.onSetter(name);
+			// Listener setters are varargs, keep the whole array
+			properties.put(name.substring(3), args.length == 1 ? args[0] : args);
+			return method.getReturnType() == Widget.class ? proxy : null;
+		}
+		if (name.startsWith("get") && properties.containsKey(name.substring(3)))
+		{
+			return properties.get(name.substring(3));
+		}
+		if (name.startsWith("is") && properties.containsKey(name.substring(2)))
+		{
+			return properties.get(name.substring(2));
+		}
+		if (method.getReturnType() == String.class)
+		{
+			return "";
+		}
+		return defaultValue(method.getReturnType());
+	}
+
+	private Widget createChild(int childType)
+	{
+		HeadlessWidget child = ui.createWidget(childType, proxy);
+		children.add(child.getWidget());
+		return child.getWidget();
+	}
+
+	private void setAction(int index, String action)
+	{
+		while (actions.size() <= index)
+		{
+			actions.add(null);
+		}
+		actions.set(index, action);
+	}
+
+	private int get(String property)
+	{
+		Object value = properties.get(property);
+		return value != null ? (int) value : 0;
+	}
+
+	static Object defaultValue(Class<?> type)
+	{
+		if (!type.isPrimitive() || type == void.class)
+		{
+			return null;
+		}
+		return Array.get(Array.newInstance(type, 1), 0);
+	}
+}
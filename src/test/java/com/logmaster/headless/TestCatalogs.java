@@ -0,0 +1,30 @@
+package com.logmaster.headless;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+
+/**
+ * Small task catalogs for the headless tests
+ */
+public final class TestCatalogs
+{
+	private TestCatalogs()
+	{
+	}
+
+	/**
+	 * @return a catalog with the given number of tasks in every tier, each with its own item and description
+	 */
+	public static TaskCatalog perTier(int tasksPerTier)
+	{
+		TaskCatalog.Builder builder = new TaskCatalog.Builder();
+		for (TaskTier tier : TaskTier.values())
+		{
+			for (int i = 0; i < tasksPerTier; i++)
+			{
+				builder.add(tier, i, 1000 * (tier.ordinal() + 1) + i, tier.displayName + " task " + i);
+			}
+		}
+		return builder.build();
+	}
+}
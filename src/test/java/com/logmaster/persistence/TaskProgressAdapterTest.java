@@ -0,0 +1,141 @@
+package com.logmaster.persistence;
+
+import com.google.gson.Gson;
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.TaskProgress;
+import com.logmaster.domain.TaskTier;
+import org.junit.Test;
+
+import java.util.Base64;
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaskProgressAdapterTest
+{
+	private final Gson gson = new Gson();
+
+	@Test
+	public void sparseAndDenseTiersRoundTrip()
+	{
+		TaskProgress progress = new TaskProgress();
+		// Sparse, with runs longer than a single varint byte
+		progress.setComplete(TaskTier.EASY, 0, true);
+		progress.setComplete(TaskTier.EASY, 700, true);
+		progress.setComplete(TaskTier.EASY, 50_000, true);
+		// Dense, with a gap
+		for (int i = 0; i < 1000; i++)
+		{
+			progress.setComplete(TaskTier.MEDIUM, i, i != 500);
+		}
+		// Alternating, the worst case for run lengths
+		for (int i = 1; i < 200; i += 2)
+		{
+			progress.setComplete(TaskTier.MASTER, i, true);
+		}
+
+		TaskProgress read = roundTrip(progress);
+
+		for (TaskTier tier : TaskTier.values())
+		{
+			assertEquals(tier.name(), progress.getCompleted(tier), read.getCompleted(tier));
+		}
+	}
+
+	@Test
+	public void legacyIdArraysAreRead()
+	{
+		TaskProgress read = gson.fromJson("{\"EASY\":[1,5,64],\"HARD\":[],\"MASTER\":[300]}", TaskProgress.class);
+
+		assertEquals(bits(1, 5, 64), read.getCompleted(TaskTier.EASY));
+		assertTrue(read.getCompleted(TaskTier.HARD).isEmpty());
+		assertEquals(bits(300), read.getCompleted(TaskTier.MASTER));
+		assertTrue(read.getCompleted(TaskTier.MEDIUM).isEmpty());
+	}
+
+	@Test
+	public void invalidLegacyIdsAreSkipped()
+	{
+		// Too large to allocate a tier for, negative and a fraction, around valid ids
+		String json = "{\"progress\":{\"EASY\":[2147483647,4,-1],\"HARD\":[1.5,9,1e300]},\"selectedTier\":\"HARD\"}";
+		SaveData saveData = gson.fromJson(json, SaveData.class);
+
+		assertEquals(bits(4), saveData.getProgress().getCompleted(TaskTier.EASY));
+		assertEquals(bits(9), saveData.getProgress().getCompleted(TaskTier.HARD));
+		assertEquals(TaskTier.HARD, saveData.getSelectedTier());
+	}
+
+	@Test
+	public void legacyTiersAreWrittenInTheNewFormat()
+	{
+		TaskProgress read = gson.fromJson("{\"ELITE\":[2,3,4]}", TaskProgress.class);
+
+		String json = gson.toJson(read);
+		assertFalse(json.contains("["));
+		assertEquals(bits(2, 3, 4), gson.fromJson(json, TaskProgress.class).getCompleted(TaskTier.ELITE));
+	}
+
+	@Test
+	public void emptyAndNullTiersAreEmpty()
+	{
+		TaskProgress read = gson.fromJson("{\"EASY\":\"\",\"MEDIUM\":null,\"UNKNOWN\":\"AQ\"}", TaskProgress.class);
+
+		for (TaskTier tier : TaskTier.values())
+		{
+			assertTrue(tier.name(), read.getCompleted(tier).isEmpty());
+		}
+		assertTrue(roundTrip(new TaskProgress()).getCompleted(TaskTier.EASY).isEmpty());
+	}
+
+	@Test
+	public void nullProgressIsEmpty()
+	{
+		SaveData saveData = gson.fromJson("{\"progress\":null}", SaveData.class);
+
+		assertNotNull(saveData.getProgress());
+		for (TaskTier tier : TaskTier.values())
+		{
+			assertTrue(saveData.getProgress().getCompleted(tier).isEmpty());
+		}
+	}
+
+	@Test
+	public void malformedTierDoesNotLoseTheRestOfTheSave()
+	{
+		TaskProgress progress = new TaskProgress();
+		progress.setComplete(TaskTier.HARD, 12, true);
+		String hard = TaskProgressAdapter.encode(progress.getCompleted(TaskTier.HARD));
+
+		// A run of 2^31 - 1 set bits, far beyond any task id
+		String tooLong = Base64.getEncoder().withoutPadding().encodeToString(new byte[]{0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+
+		// Not base64, a varint cut off mid-way, a run too long and a valid tier
+		String json = "{\"progress\":{\"EASY\":\"!not base64!\",\"MEDIUM\":\"gA\",\"ELITE\":\"" + tooLong + "\","
+			+ "\"HARD\":\"" + hard + "\"},\"selectedTier\":\"HARD\"}";
+		SaveData saveData = gson.fromJson(json, SaveData.class);
+
+		assertTrue(saveData.getProgress().getCompleted(TaskTier.EASY).isEmpty());
+		assertTrue(saveData.getProgress().getCompleted(TaskTier.MEDIUM).isEmpty());
+		assertTrue(saveData.getProgress().getCompleted(TaskTier.ELITE).isEmpty());
+		assertEquals(bits(12), saveData.getProgress().getCompleted(TaskTier.HARD));
+		assertEquals(TaskTier.HARD, saveData.getSelectedTier());
+	}
+
+	private TaskProgress roundTrip(TaskProgress progress)
+	{
+		return gson.fromJson(gson.toJson(progress), TaskProgress.class);
+	}
+
+	private static BitSet bits(int... indexes)
+	{
+		BitSet bits = new BitSet();
+		for (int index : indexes)
+		{
+			bits.set(index);
+		}
+		return bits;
+	}
+}
@@ -0,0 +1,283 @@
+package com.logmaster.task;
+
+import com.logmaster.LogMasterConfig;
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskPointer;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.headless.TestCatalogs;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CollectionLogWatcherTest
+{
+	private static final int NOT_OBTAINED_OPACITY = 175;
+	private static final String NEW_ITEM = "New item added to your collection log: ";
+	// The icon of one task in every tier, as clue and boss tasks share theirs
+	private static final int SHARED_ITEM_ID = 2677;
+
+	private TaskCatalog catalog;
+	private HeadlessServices services;
+	private SaveData saveData;
+	private Widget page;
+	private CollectionLogWatcher watcher;
+	private final Map<Integer, String> itemNames = new HashMap<>();
+
+	@Before
+	public void setUp()
+	{
+		watcher = new CollectionLogWatcher();
+		HeadlessServices.inject(watcher, "config", autoCompleteConfig(true));
+		watcher.setItemNameLookup(itemId -> itemNames.getOrDefault(itemId, "Item " + itemId));
+		useCatalog(TestCatalogs.perTier(5));
+	}
+
+	@Test
+	public void newItemMessageCompletesTheActiveTask()
+	{
+		itemNames.put(catalog.getItemId(TaskTier.ELITE, 1), "Abyssal whip");
+		setActiveTask(TaskTier.ELITE, 1);
+
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, NEW_ITEM + "<col=ef1020>Abyssal Whip</col>"));
+		assertFalse(isComplete(TaskTier.ELITE, 1));
+
+		watcher.onGameTick();
+		assertTrue(isComplete(TaskTier.ELITE, 1));
+		assertNull(saveData.getActiveTaskPointer());
+		assertNull(services.getSaveDataManager().currentTask());
+		assertEquals(1, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void sharedItemOnlyCompletesTheActiveTask()
+	{
+		useCatalog(sharedItemCatalog());
+		itemNames.put(SHARED_ITEM_ID, "Clue scroll (easy)");
+		setActiveTask(TaskTier.HARD, 0);
+
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, NEW_ITEM + "Clue scroll (easy)"));
+		watcher.onGameTick();
+		// Another new item with the same icon finds no active task to complete
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, NEW_ITEM + "Clue scroll (easy)"));
+		watcher.onGameTick();
+
+		for (TaskTier tier : TaskTier.values())
+		{
+			assertEquals(tier.name(), tier == TaskTier.HARD, isComplete(tier, 0));
+		}
+		assertEquals(1, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void newItemsForOtherTasksCompleteNothing()
+	{
+		itemNames.put(catalog.getItemId(TaskTier.EASY, 0), "Bones");
+		itemNames.put(catalog.getItemId(TaskTier.HARD, 2), "Dragon bones");
+		setActiveTask(TaskTier.HARD, 2);
+
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, NEW_ITEM + "Bones"));
+		watcher.onGameTick();
+
+		assertFalse(isComplete(TaskTier.EASY, 0));
+		assertFalse(isComplete(TaskTier.HARD, 2));
+		assertEquals(0, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void newItemsWithoutAnActiveTaskCompleteNothing()
+	{
+		itemNames.put(catalog.getItemId(TaskTier.EASY, 0), "Bones");
+
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, NEW_ITEM + "Bones"));
+		watcher.onGameTick();
+
+		assertFalse(isComplete(TaskTier.EASY, 0));
+		assertEquals(0, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void otherMessagesAreIgnored()
+	{
+		itemNames.put(catalog.getItemId(TaskTier.EASY, 0), "Bones");
+		setActiveTask(TaskTier.EASY, 0);
+
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, "Bones"));
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, "You bury the bones."));
+		watcher.onChatMessage(chat(ChatMessageType.PUBLICCHAT, NEW_ITEM + "Bones"));
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, NEW_ITEM + "Big bones"));
+		watcher.onGameTick();
+
+		assertFalse(isComplete(TaskTier.EASY, 0));
+		assertEquals(0, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void itemObtainedAfterThePageShowedItMissingCompletesTheActiveTask()
+	{
+		setActiveTask(TaskTier.MEDIUM, 3);
+		Widget item = addItem(catalog.getItemId(TaskTier.MEDIUM, 3), NOT_OBTAINED_OPACITY);
+		addItem(catalog.getItemId(TaskTier.EASY, 0), 0);
+		watcher.onCollectionLogPage();
+		watcher.onGameTick();
+		assertFalse(isComplete(TaskTier.MEDIUM, 3));
+
+		item.setOpacity(0);
+		watcher.onCollectionLogPage();
+		assertFalse(isComplete(TaskTier.MEDIUM, 3));
+
+		watcher.onGameTick();
+		assertTrue(isComplete(TaskTier.MEDIUM, 3));
+		assertFalse(isComplete(TaskTier.EASY, 0));
+		assertNull(saveData.getActiveTaskPointer());
+		assertEquals(1, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void itemsObtainedBeforeTheTaskWasAssignedCompleteNothing()
+	{
+		setActiveTask(TaskTier.EASY, 4);
+		addItem(catalog.getItemId(TaskTier.EASY, 4), 0);
+		addItem(catalog.getItemId(TaskTier.HARD, 2), 0);
+
+		for (int i = 0; i < 3; i++)
+		{
+			watcher.onCollectionLogPage();
+			watcher.onGameTick();
+		}
+
+		assertFalse(isComplete(TaskTier.EASY, 4));
+		assertFalse(isComplete(TaskTier.HARD, 2));
+		assertEquals(0, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void itemSeenMissingForAnEarlierTaskDoesntCount()
+	{
+		useCatalog(sharedItemCatalog());
+		setActiveTask(TaskTier.EASY, 0);
+		Widget item = addItem(SHARED_ITEM_ID, NOT_OBTAINED_OPACITY);
+		watcher.onCollectionLogPage();
+
+		// Obtained while the easy task was active, but the page isn't seen again until a task sharing its item is
+		setActiveTask(TaskTier.ELITE, 0);
+		item.setOpacity(0);
+		watcher.onCollectionLogPage();
+		watcher.onGameTick();
+
+		assertFalse(isComplete(TaskTier.EASY, 0));
+		assertFalse(isComplete(TaskTier.ELITE, 0));
+		assertEquals(0, watcher.getTasksCompleted());
+	}
+
+	@Test
+	public void pagesDrawnBeforeTheTaskListIsLoadedDontLoadIt()
+	{
+		setActiveTask(TaskTier.EASY, 0);
+		HeadlessServices.inject(services.getTaskService(), "state", new AtomicReference<>(TaskListState.EMPTY));
+		addItem(catalog.getItemId(TaskTier.EASY, 0), 0);
+
+		watcher.onCollectionLogPage();
+		watcher.onGameTick();
+
+		assertNull(services.getTaskService().peekTaskList());
+		assertFalse(isComplete(TaskTier.EASY, 0));
+	}
+
+	@Test
+	public void nothingIsCompletedWhenDisabled()
+	{
+		HeadlessServices.inject(watcher, "config", autoCompleteConfig(false));
+		itemNames.put(catalog.getItemId(TaskTier.EASY, 0), "Bones");
+		setActiveTask(TaskTier.EASY, 0);
+		Widget item = addItem(catalog.getItemId(TaskTier.EASY, 0), NOT_OBTAINED_OPACITY);
+		watcher.onCollectionLogPage();
+
+		item.setOpacity(0);
+		watcher.onCollectionLogPage();
+		watcher.onChatMessage(chat(ChatMessageType.GAMEMESSAGE, NEW_ITEM + "Bones"));
+		watcher.onGameTick();
+
+		assertFalse(isComplete(TaskTier.EASY, 0));
+		assertEquals(0, watcher.getTasksCompleted());
+	}
+
+	private void useCatalog(TaskCatalog taskCatalog)
+	{
+		catalog = taskCatalog;
+		saveData = new SaveData();
+		services = new HeadlessServices(catalog, saveData);
+		page = services.getUi().createWindow(400, 200);
+		services.getClient().setWidget(InterfaceID.Collection.ITEMS_CONTENTS, page);
+
+		HeadlessServices.inject(watcher, "client", services.getClient().getClient());
+		HeadlessServices.inject(watcher, "plugin", services.getPlugin());
+		HeadlessServices.inject(watcher, "taskService", services.getTaskService());
+		HeadlessServices.inject(watcher, "saveDataManager", services.getSaveDataManager());
+	}
+
+	/**
+	 * @return a catalog whose first task in every tier shares its item, with a second task of its own
+	 */
+	private static TaskCatalog sharedItemCatalog()
+	{
+		TaskCatalog.Builder builder = new TaskCatalog.Builder();
+		for (TaskTier tier : TaskTier.values())
+		{
+			builder.add(tier, 0, SHARED_ITEM_ID, "Get 5 new uniques from " + tier.displayName + " clues");
+			builder.add(tier, 1, 1000 * (tier.ordinal() + 1), tier.displayName + " task 1");
+		}
+		return builder.build();
+	}
+
+	private void setActiveTask(TaskTier tier, int index)
+	{
+		TaskPointer pointer = new TaskPointer();
+		pointer.setTaskTier(tier);
+		pointer.setTask(catalog.getTask(tier, index));
+		services.getTaskService().setActiveTask(pointer);
+	}
+
+	private static ChatMessage chat(ChatMessageType type, String message)
+	{
+		ChatMessage chatMessage = new ChatMessage();
+		chatMessage.setType(type);
+		chatMessage.setMessage(message);
+		return chatMessage;
+	}
+
+	private Widget addItem(int itemId, int opacity)
+	{
+		Widget item = page.createChild(-1, WidgetType.GRAPHIC);
+		item.setItemId(itemId);
+		item.setOpacity(opacity);
+		return item;
+	}
+
+	private boolean isComplete(TaskTier tier, int index)
+	{
+		return saveData.getProgress().isComplete(tier, catalog.getTaskId(tier, index));
+	}
+
+	private static LogMasterConfig autoCompleteConfig(boolean enabled)
+	{
+		LogMasterConfig config = HeadlessServices.config();
+		return (LogMasterConfig) Proxy.newProxyInstance(LogMasterConfig.class.getClassLoader(), new Class<?>[]{LogMasterConfig.class},
+			(proxy, method, args) -> "autoCompleteTasks".equals(method.getName()) ? enabled : method.invoke(config, args));
+	}
+}
@@ -0,0 +1,230 @@
+package com.logmaster.task;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the client against a local stand-in for the task list server, which
+ * serves whatever body the test sets and answers revalidations with a 304
+ * while the ETag still matches
+ */
+public class TaskListClientTest
+{
+	private static final String TASKS = "{\"easy\":[{\"id\":1,\"description\":\"Get a bone\",\"itemID\":526}],"
+		+ "\"hard\":[{\"id\":7,\"description\":\"Get a whip\",\"itemID\":4151}]}";
+	private static final String ETAG = "\"v1\"";
+	private static final String LAST_MODIFIED = "Wed, 01 Jan 2025 00:00:00 GMT";
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private HttpServer server;
+	private volatile String body = TASKS;
+	private volatile String etag = ETAG;
+	private volatile Headers lastRequestHeaders;
+
+	private File cacheDirectory;
+	private TaskListClient client;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/tasks.json", exchange -> {
+			lastRequestHeaders = exchange.getRequestHeaders();
+			if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match")))
+			{
+				exchange.sendResponseHeaders(304, -1);
+				exchange.close();
+				return;
+			}
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("ETag", etag);
+			exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody())
+			{
+				out.write(bytes);
+			}
+		});
+		server.start();
+
+		cacheDirectory = new File(folder.getRoot(), "generate-task");
+		client = new TaskListClient();
+		HeadlessServices.inject(client, "okHttpClient", new OkHttpClient());
+		client.setCacheDirectory(cacheDirectory);
+		client.setTaskListUrl(new HttpUrl.Builder()
+			.scheme("http")
+			.host(server.getAddress().getHostString())
+			.port(server.getAddress().getPort())
+			.addPathSegment("tasks.json")
+			.build());
+	}
+
+	@After
+	public void tearDown()
+	{
+		server.stop(0);
+	}
+
+	@Test
+	public void okResponseIsCachedWithItsValidators() throws Exception
+	{
+		TaskCatalog catalog;
+		try (Response response = fetch())
+		{
+			assertFalse(client.isNotModified(response));
+			catalog = client.processResponse(response);
+		}
+
+		assertNotNull(catalog);
+		assertEquals(1, catalog.size(TaskTier.EASY));
+		assertEquals(4151, catalog.getItemId(TaskTier.HARD, 0));
+		assertEquals(TASKS, read("tasks.json"));
+		String meta = read("tasks.meta");
+		assertTrue(meta, meta.contains("v1"));
+		assertTrue(meta, meta.contains("2025"));
+	}
+
+	@Test
+	public void nextRequestRevalidatesAndServesTheCachedCopy() throws Exception
+	{
+		try (Response response = fetch())
+		{
+			client.processResponse(response);
+		}
+
+		try (Response response = fetch())
+		{
+			assertTrue(client.isNotModified(response));
+		}
+		assertEquals(ETAG, lastRequestHeaders.getFirst("If-None-Match"));
+		assertEquals(LAST_MODIFIED, lastRequestHeaders.getFirst("If-Modified-Since"));
+
+		TaskCatalog cached = client.loadCachedTaskList();
+		assertNotNull(cached);
+		assertEquals(7, cached.getTaskId(TaskTier.HARD, 0));
+	}
+
+	@Test
+	public void firstRequestHasNoValidators() throws Exception
+	{
+		assertNull(client.loadCachedTaskList());
+		try (Response response = fetch())
+		{
+			assertFalse(client.isNotModified(response));
+		}
+		assertNull(lastRequestHeaders.getFirst("If-None-Match"));
+		assertNull(lastRequestHeaders.getFirst("If-Modified-Since"));
+	}
+
+	@Test
+	public void malformedBodyLeavesTheOldCacheIntact() throws Exception
+	{
+		try (Response response = fetch())
+		{
+			client.processResponse(response);
+		}
+		byte[] cachedList = Files.readAllBytes(new File(cacheDirectory, "tasks.json").toPath());
+		byte[] cachedMeta = Files.readAllBytes(new File(cacheDirectory, "tasks.meta").toPath());
+
+		// A wrong value type and a cut off document
+		for (String malformed : new String[]{"{\"easy\":[{\"id\":\"one\"}]}", "{\"easy\":[{\"id\":1,"})
+		{
+			body = malformed;
+			etag = "\"v2\"";
+			try (Response response = fetch())
+			{
+				client.processResponse(response);
+				fail("Decoded a malformed task list: " + malformed);
+			}
+			catch (IOException | RuntimeException e)
+			{
+				// Expected, the decoder reports malformed lists with either
+			}
+
+			assertArrayEquals(cachedList, Files.readAllBytes(new File(cacheDirectory, "tasks.json").toPath()));
+			assertArrayEquals(cachedMeta, Files.readAllBytes(new File(cacheDirectory, "tasks.meta").toPath()));
+			assertFalse(new File(cacheDirectory, "tasks.json.tmp").exists());
+		}
+		assertEquals(1, client.loadCachedTaskList().size(TaskTier.EASY));
+	}
+
+	@Test
+	public void unreadableCacheIsDroppedSoTheNextRequestDownloadsTheList() throws Exception
+	{
+		try (Response response = fetch())
+		{
+			client.processResponse(response);
+		}
+		Files.write(new File(cacheDirectory, "tasks.json").toPath(), "{\"easy\":[{".getBytes(StandardCharsets.UTF_8));
+
+		assertNull(client.loadCachedTaskList());
+		assertFalse(new File(cacheDirectory, "tasks.json").exists());
+		assertFalse(new File(cacheDirectory, "tasks.meta").exists());
+
+		try (Response response = fetch())
+		{
+			assertFalse(client.isNotModified(response));
+			assertNotNull(client.processResponse(response));
+		}
+		assertNull(lastRequestHeaders.getFirst("If-None-Match"));
+		assertNull(lastRequestHeaders.getFirst("If-Modified-Since"));
+	}
+
+	private Response fetch() throws Exception
+	{
+		CompletableFuture<Response> result = new CompletableFuture<>();
+		client.getTaskList(new Callback()
+		{
+			@Override
+			public void onFailure(Call call, IOException e)
+			{
+				result.completeExceptionally(e);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response)
+			{
+				result.complete(response);
+			}
+		});
+		return result.get(10, TimeUnit.SECONDS);
+	}
+
+	private String read(String fileName) throws IOException
+	{
+		return new String(Files.readAllBytes(new File(cacheDirectory, fileName).toPath()), StandardCharsets.UTF_8);
+	}
+}
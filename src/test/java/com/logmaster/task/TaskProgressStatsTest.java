@@ -0,0 +1,135 @@
+package com.logmaster.task;
+
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskProgress;
+import com.logmaster.domain.TaskTier;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaskProgressStatsTest
+{
+	// Spread over several mask words, with a gap, so the counts can't rely on ids being dense
+	private static final int[] TASK_IDS = {0, 1, 2, 63, 64, 65, 127, 128, 300, 301};
+	// Completed in the save but not part of the task list, they must never be counted
+	private static final int[] OTHER_IDS = {3, 62, 129, 1000};
+
+	private TaskCatalog taskList;
+	private TaskProgress progress;
+	private TaskProgressStats stats;
+
+	@Before
+	public void setUp()
+	{
+		TaskCatalog.Builder builder = new TaskCatalog.Builder();
+		for (TaskTier tier : TaskTier.values())
+		{
+			for (int id : TASK_IDS)
+			{
+				builder.add(tier, id, 1000 + id, tier.displayName + " task " + id);
+			}
+		}
+		taskList = builder.build();
+		progress = new TaskProgress();
+		progress.setComplete(TaskTier.EASY, 64, true);
+		progress.setComplete(TaskTier.EASY, 1000, true);
+
+		stats = new TaskProgressStats();
+		stats.rebuild(taskList, progress);
+	}
+
+	@Test
+	public void countsFollowASequenceOfChanges()
+	{
+		set(TaskTier.EASY, 0, true);
+		set(TaskTier.EASY, 0, true);
+		set(TaskTier.EASY, 65, true);
+		set(TaskTier.EASY, 64, false);
+		set(TaskTier.EASY, 64, false);
+		set(TaskTier.EASY, 3, true);
+		set(TaskTier.MASTER, 301, true);
+		set(TaskTier.MASTER, 301, false);
+		set(TaskTier.MASTER, 301, true);
+
+		assertTrue(stats.verify());
+		assertEquals(2, stats.getCompletedCount(TaskTier.EASY));
+		assertEquals(1, stats.getCompletedCount(TaskTier.MASTER));
+		assertEquals(TASK_IDS.length, stats.getTotalCount(TaskTier.EASY));
+		assertCountsMatchARecount();
+	}
+
+	@Test
+	public void countsFollowRandomChanges()
+	{
+		Random random = new Random(42);
+		TaskTier[] tiers = TaskTier.values();
+		for (int i = 0; i < 10_000; i++)
+		{
+			TaskTier tier = tiers[random.nextInt(tiers.length)];
+			int[] ids = random.nextInt(4) == 0 ? OTHER_IDS : TASK_IDS;
+			set(tier, ids[random.nextInt(ids.length)], random.nextBoolean());
+
+			if (i % 500 == 0)
+			{
+				assertTrue("after " + i + " changes", stats.verify());
+			}
+		}
+
+		assertTrue(stats.verify());
+		assertCountsMatchARecount();
+	}
+
+	@Test
+	public void everyTaskCompleteIsOneHundredPercent()
+	{
+		for (TaskTier tier : TaskTier.values())
+		{
+			for (int id : TASK_IDS)
+			{
+				set(tier, id, true);
+			}
+		}
+
+		assertTrue(stats.verify());
+		assertEquals(100, stats.getPercentage(TaskTier.ELITE));
+		assertNull(stats.getFirstIncompleteTier(TaskTier.EASY));
+
+		set(TaskTier.HARD, 128, false);
+		assertEquals(90, stats.getPercentage(TaskTier.HARD));
+		assertEquals(TaskTier.HARD, stats.getFirstIncompleteTier(TaskTier.EASY));
+		assertTrue(stats.verify());
+	}
+
+	@Test
+	public void changesWhichBypassTheCountsAreCaught()
+	{
+		progress.setComplete(TaskTier.MEDIUM, 2, true);
+
+		assertFalse(stats.verify());
+	}
+
+	private void set(TaskTier tier, int taskId, boolean complete)
+	{
+		boolean wasComplete = progress.isComplete(tier, taskId);
+		progress.setComplete(tier, taskId, complete);
+		stats.onTaskChanged(tier, taskId, wasComplete);
+	}
+
+	private void assertCountsMatchARecount()
+	{
+		TaskProgressStats recount = new TaskProgressStats();
+		recount.rebuild(taskList, progress);
+		for (TaskTier tier : TaskTier.values())
+		{
+			assertEquals(tier.name(), recount.getCompletedCount(tier), stats.getCompletedCount(tier));
+			assertEquals(tier.name(), recount.getTotalCount(tier), stats.getTotalCount(tier));
+			assertEquals(tier.name(), recount.getPercentage(tier), stats.getPercentage(tier));
+		}
+	}
+}
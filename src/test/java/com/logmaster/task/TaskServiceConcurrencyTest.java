@@ -0,0 +1,303 @@
+package com.logmaster.task;
+
+import com.logmaster.LogMasterConfig;
+import com.logmaster.diagnostics.Diagnostics;
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.Task;
+import com.logmaster.domain.TaskCatalog;
+import com.logmaster.domain.TaskPointer;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.headless.TestCatalogs;
+import com.logmaster.persistence.SaveDataManager;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress tests for the state shared between the client thread, the overlay
+ * renderer and the OkHttp callbacks. Each test races several threads against
+ * each other from a common start and checks that no reader ever sees a state
+ * which was never published.
+ */
+public class TaskServiceConcurrencyTest
+{
+	private static final int THREADS = 8;
+	private static final int ITERATIONS = 20_000;
+
+	private final TaskCatalog localList = TestCatalogs.perTier(5);
+	private final CountingTaskListClient taskListClient = new CountingTaskListClient();
+	private TaskService taskService;
+
+	@Before
+	public void setUp()
+	{
+		taskService = new TaskService();
+		HeadlessServices.inject(taskService, "config", remoteConfig());
+		HeadlessServices.inject(taskService, "taskListClient", taskListClient);
+		HeadlessServices.inject(taskService, "diagnostics", new Diagnostics());
+		HeadlessServices.inject(taskService, "state", new AtomicReference<>(TaskListState.EMPTY.withLocalList(localList)));
+	}
+
+	@Test
+	public void remoteTaskListIsRequestedOnceUnderContention() throws Exception
+	{
+		race(THREADS, thread -> {
+			for (int i = 0; i < ITERATIONS; i++)
+			{
+				assertSame(localList, taskService.getTaskList());
+			}
+		});
+
+		assertEquals(1, taskListClient.requests.get());
+	}
+
+	@Test
+	public void failedRequestIsRetriedOnce() throws Exception
+	{
+		taskService.setRemoteRetryDelayMillis(0);
+		taskService.getTaskList();
+		taskService.onRemoteTaskListFailed();
+
+		race(THREADS, thread -> {
+			for (int i = 0; i < ITERATIONS; i++)
+			{
+				taskService.getTaskList();
+			}
+		});
+
+		assertEquals(2, taskListClient.requests.get());
+	}
+
+	@Test
+	public void failedRequestWaitsForTheRetryDelay()
+	{
+		taskService.getTaskList();
+		taskService.onRemoteTaskListFailed();
+
+		for (int i = 0; i < 100; i++)
+		{
+			taskService.getTaskList();
+		}
+
+		assertEquals(1, taskListClient.requests.get());
+	}
+
+	@Test
+	public void requestWhichCannotBeSentIsRetried()
+	{
+		taskService.setRemoteRetryDelayMillis(0);
+		taskListClient.failToSend = true;
+		taskService.getTaskList();
+
+		taskListClient.failToSend = false;
+		taskService.getTaskList();
+		taskService.getTaskList();
+
+		assertEquals(2, taskListClient.requests.get());
+	}
+
+	@Test
+	public void notModifiedWithoutAUsableCacheIsRetried() throws Exception
+	{
+		taskService.setRemoteRetryDelayMillis(0);
+		taskService.getTaskList();
+
+		Request request = new Request.Builder().url("http://localhost/tasks.json").build();
+		Response notModified = new Response.Builder()
+			.request(request)
+			.protocol(Protocol.HTTP_1_1)
+			.code(304)
+			.message("Not Modified")
+			.body(ResponseBody.create(null, ""))
+			.build();
+		taskListClient.callback.onResponse(new OkHttpClient().newCall(request), notModified);
+		assertSame(localList, taskService.getTaskList());
+
+		assertEquals(2, taskListClient.requests.get());
+	}
+
+	@Test
+	public void readersOnlySeePublishedTaskLists() throws Exception
+	{
+		taskService.getTaskList();
+
+		List<TaskCatalog> remoteLists = new ArrayList<>();
+		for (int i = 0; i < 50; i++)
+		{
+			remoteLists.add(TestCatalogs.perTier(1 + i % 3));
+		}
+		Set<TaskCatalog> published = Collections.newSetFromMap(new ConcurrentHashMap<>());
+		published.add(localList);
+
+		AtomicBoolean done = new AtomicBoolean();
+		race(THREADS, thread -> {
+			if (thread == 0)
+			{
+				// Plays the OkHttp callback, replacing the remote list again and again
+				for (TaskCatalog remote : remoteLists)
+				{
+					published.add(remote);
+					taskService.onRemoteTaskListLoaded(remote);
+					Thread.yield();
+				}
+				done.set(true);
+				return;
+			}
+
+			TaskCatalog last = localList;
+			while (!done.get())
+			{
+				TaskCatalog seen = taskService.getTaskList();
+				assertNotNull(seen);
+				assertTrue(published.contains(seen));
+				// Once the remote list has been seen, later reads never go back to an older one
+				assertTrue(seen == last || remoteLists.indexOf(seen) >= remoteLists.indexOf(last));
+				last = seen;
+			}
+		});
+
+		assertSame(remoteLists.get(remoteLists.size() - 1), taskService.getTaskList());
+		assertEquals(1, taskListClient.requests.get());
+	}
+
+	@Test
+	public void overlayReadsOnlyPublishedActiveTasks() throws Exception
+	{
+		HeadlessServices services = new HeadlessServices(localList, new SaveData());
+		TaskService clientTaskService = services.getTaskService();
+		SaveDataManager saveDataManager = services.getSaveDataManager();
+
+		List<TaskPointer> pointers = new ArrayList<>();
+		for (Task task : localList.getForTier(TaskTier.EASY))
+		{
+			TaskPointer pointer = new TaskPointer();
+			pointer.setTaskTier(TaskTier.EASY);
+			pointer.setTask(task);
+			pointers.add(pointer);
+		}
+		pointers.add(null);
+
+		AtomicBoolean done = new AtomicBoolean();
+		race(THREADS, thread -> {
+			if (thread == 0)
+			{
+				// Plays the client thread, switching the active task
+				for (int i = 0; i < ITERATIONS; i++)
+				{
+					clientTaskService.setActiveTask(pointers.get(i % pointers.size()));
+				}
+				done.set(true);
+				return;
+			}
+
+			// Plays the overlay renderer
+			while (!done.get())
+			{
+				Task task = saveDataManager.currentTask();
+				assertTrue(task == null || localList.getForTier(TaskTier.EASY).contains(task));
+			}
+		});
+
+		TaskPointer last = pointers.get((ITERATIONS - 1) % pointers.size());
+		assertSame(last != null ? last.getTask() : null, saveDataManager.currentTask());
+	}
+
+	private interface Worker
+	{
+		void run(int thread) throws Exception;
+	}
+
+	/**
+	 * Runs a worker on each of several threads, released together, and rethrows the first failure
+	 */
+	private static void race(int threads, Worker worker) throws Exception
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try
+		{
+			List<Future<Void>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++)
+			{
+				int thread = i;
+				Callable<Void> task = () -> {
+					start.await();
+					worker.run(thread);
+					return null;
+				};
+				results.add(pool.submit(task));
+			}
+			start.countDown();
+			for (Future<Void> result : results)
+			{
+				result.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+	}
+
+	private static LogMasterConfig remoteConfig()
+	{
+		LogMasterConfig config = HeadlessServices.config();
+		return (LogMasterConfig) Proxy.newProxyInstance(LogMasterConfig.class.getClassLoader(), new Class<?>[]{LogMasterConfig.class},
+			(proxy, method, args) -> "loadRemoteTaskList".equals(method.getName()) ? true : method.invoke(config, args));
+	}
+
+	/**
+	 * Counts requests instead of sending them, leaving the test to play the responses
+	 */
+	private static class CountingTaskListClient extends TaskListClient
+	{
+		private final AtomicInteger requests = new AtomicInteger();
+		private volatile boolean failToSend;
+		private volatile Callback callback;
+
+		@Override
+		public void getTaskList(Callback callback) throws IOException
+		{
+			requests.incrementAndGet();
+			this.callback = callback;
+			if (failToSend)
+			{
+				throw new IOException("Unable to send the request");
+			}
+		}
+
+		@Override
+		public TaskCatalog loadCachedTaskList()
+		{
+			return null;
+		}
+	}
+}
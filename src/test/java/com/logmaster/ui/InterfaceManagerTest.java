@@ -0,0 +1,101 @@
+package com.logmaster.ui;
+
+import com.logmaster.domain.SaveData;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.headless.HeadlessUi;
+import com.logmaster.headless.TestCatalogs;
+import com.logmaster.ui.generic.WidgetPool;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.logmaster.ui.InterfaceConstants.COLLECTION_LOG_WINDOW_HEIGHT;
+import static com.logmaster.ui.InterfaceConstants.COLLECTION_LOG_WINDOW_WIDTH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InterfaceManagerTest
+{
+	private HeadlessServices services;
+	private HeadlessUi ui;
+	private InterfaceManager interfaceManager;
+
+	@Before
+	public void setUp()
+	{
+		services = new HeadlessServices(TestCatalogs.perTier(50), new SaveData());
+		ui = services.getUi();
+		interfaceManager = services.getInterfaceManager();
+	}
+
+	@Test
+	public void reopeningTheCollectionLogReusesEveryComponent()
+	{
+		WidgetPool pool = interfaceManager.getWidgetPool();
+		open();
+		close();
+		int created = pool.getCreatedCount();
+		int released = pool.getFreeCount();
+		assertTrue(released > 0);
+
+		List<Widget> closedWindows = new ArrayList<>();
+		for (int i = 0; i < 5; i++)
+		{
+			closedWindows.add(open());
+			close();
+		}
+
+		assertEquals(created, pool.getCreatedCount());
+		assertEquals(released, pool.getFreeCount());
+		assertEquals(5 * released, pool.getReusedCount());
+
+		// The client's old widgets must not keep the released components reachable
+		for (Widget window : closedWindows)
+		{
+			assertNoListeners(window);
+		}
+	}
+
+	@Test
+	public void idleFrameWritesNothing()
+	{
+		open();
+		ui.resetCounts();
+		int skippedReflows = interfaceManager.getLayoutCache().getSkippedReflowCount();
+
+		interfaceManager.handleBeforeRender();
+
+		assertEquals(0, ui.getSetterCalls());
+		assertEquals(0, ui.getRevalidations());
+		assertEquals(skippedReflows + 1, interfaceManager.getLayoutCache().getSkippedReflowCount());
+	}
+
+	private Widget open()
+	{
+		Widget window = ui.createWindow(COLLECTION_LOG_WINDOW_WIDTH, COLLECTION_LOG_WINDOW_HEIGHT);
+		services.getClient().setWidget(InterfaceID.Collection.CONTENT, window);
+		interfaceManager.handleCollectionLogOpen();
+		interfaceManager.handleBeforeRender();
+		return window;
+	}
+
+	private void close()
+	{
+		interfaceManager.handleCollectionLogClose();
+		services.getClient().removeWidget(InterfaceID.Collection.CONTENT);
+	}
+
+	private void assertNoListeners(Widget widget)
+	{
+		assertFalse(widget + " still has an op listener", ui.get(widget).hasOpListener());
+		for (Widget child : widget.getChildren())
+		{
+			assertNoListeners(child);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.logmaster.ui.component;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScrollInputTest
+{
+	private final ScrollInput input = new ScrollInput();
+
+	@Test
+	public void wholeGestureWithinAFrameIsKept()
+	{
+		input.press(10, 20);
+		input.drag(25);
+		input.drag(40);
+		input.release();
+
+		input.drainMouse();
+		assertEquals(10, input.getPressX());
+		assertEquals(20, input.getPressY());
+		assertEquals(40, input.getDragY());
+		assertTrue(input.wasReleased());
+
+		input.drainMouse();
+		assertEquals(ScrollInput.NO_POSITION, input.getPressX());
+		assertEquals(ScrollInput.NO_POSITION, input.getDragY());
+		assertFalse(input.wasReleased());
+	}
+
+	@Test
+	public void newPressReplacesTheLastGesture()
+	{
+		input.press(10, 20);
+		input.drag(40);
+		input.release();
+		input.press(5, 6);
+
+		input.drainMouse();
+		assertEquals(5, input.getPressX());
+		assertEquals(6, input.getPressY());
+		assertEquals(ScrollInput.NO_POSITION, input.getDragY());
+		assertFalse(input.wasReleased());
+	}
+
+	@Test
+	public void dragsContinueAcrossFrames()
+	{
+		input.press(10, 20);
+		input.drainMouse();
+
+		input.drag(30);
+		input.drainMouse();
+		assertEquals(ScrollInput.NO_POSITION, input.getPressX());
+		assertEquals(30, input.getDragY());
+	}
+
+	@Test
+	public void resetDropsPendingInput()
+	{
+		input.press(10, 20);
+		input.drag(30);
+		input.addWheel(3);
+		input.reset();
+
+		input.drainMouse();
+		assertEquals(ScrollInput.NO_POSITION, input.getPressX());
+		assertEquals(ScrollInput.NO_POSITION, input.getDragY());
+		assertEquals(0, input.drainRows(false));
+	}
+
+	@Test
+	public void wheelRowsAccumulate()
+	{
+		input.addWheel(0.5);
+		input.addWheel(0.5);
+		input.addWheel(1);
+
+		assertEquals(2, input.drainRows(false));
+		assertEquals(0, input.drainRows(false));
+	}
+}
@@ -0,0 +1,101 @@
+package com.logmaster.ui.component;
+
+import com.logmaster.domain.SaveData;
+import com.logmaster.domain.TaskTier;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.headless.HeadlessUi;
+import com.logmaster.headless.HeadlessWidget;
+import com.logmaster.headless.TestCatalogs;
+import com.logmaster.ui.generic.MutationBuffer;
+import com.logmaster.ui.generic.WidgetPool;
+import net.runelite.api.widgets.Widget;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.logmaster.ui.InterfaceConstants.COLLECTION_LOG_WINDOW_HEIGHT;
+import static com.logmaster.ui.InterfaceConstants.COLLECTION_LOG_WINDOW_WIDTH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TabManagerTest
+{
+	private HeadlessServices services;
+	private HeadlessUi ui;
+	private Widget window;
+	private MutationBuffer mutationBuffer;
+	private TaskDashboard taskDashboard;
+	private TaskList taskList;
+
+	@Before
+	public void setUp()
+	{
+		services = new HeadlessServices(TestCatalogs.perTier(50), new SaveData());
+		ui = services.getUi();
+		window = ui.createWindow(COLLECTION_LOG_WINDOW_WIDTH, COLLECTION_LOG_WINDOW_HEIGHT);
+		mutationBuffer = new MutationBuffer();
+		WidgetPool widgetPool = new WidgetPool(mutationBuffer);
+
+		// Built the way the interface manager builds them when the collection log opens
+		taskDashboard = new TaskDashboard(services.getPlugin(), services.getConfig(), window, services.getTaskService(), services.getSaveDataManager(), widgetPool);
+		taskList = new TaskList(window, services.getTaskService(), services.getPlugin(), services.getClientThread(), services.getSaveDataManager(), widgetPool, services.getDiagnostics());
+		taskList.setVisibility(false);
+		TabManager tabManager = new TabManager(window, services.getConfig(), services.getSaveDataManager(), widgetPool);
+		tabManager.setComponents(taskDashboard, taskList);
+		tabManager.updateTabs();
+		tabManager.activateTaskDashboard();
+		mutationBuffer.flush();
+
+		selectTier(TaskTier.HARD);
+		ui.resetCounts();
+	}
+
+	@Test
+	public void switchingTierRebindsEveryVisibleTile()
+	{
+		selectTier(TaskTier.ELITE);
+
+		assertEquals(TaskTier.ELITE, services.getSaveDataManager().getSaveData().getSelectedTier());
+		assertTrue(taskList.isVisible());
+		assertFalse(taskDashboard.isVisible());
+		assertEquals(4, ui.getSetterCalls("setText"));
+		assertEquals(1, ui.getMaxRevalidationsPerWidget());
+	}
+
+	@Test
+	public void reselectingTheSameTierWritesNoContent()
+	{
+		selectTier(TaskTier.HARD);
+
+		assertEquals(0, ui.getSetterCalls("setText"));
+		assertEquals(0, ui.getSetterCalls("setItemId"));
+	}
+
+	@Test
+	public void dashboardTabHidesTheTaskList()
+	{
+		select("View <col=ff9040>Dashboard</col>");
+		mutationBuffer.flush();
+
+		assertTrue(taskDashboard.isVisible());
+		assertFalse(taskList.isVisible());
+	}
+
+	/**
+	 * Selects a tier's tab and lays the page out, as the next frame would
+	 */
+	private void selectTier(TaskTier tier)
+	{
+		select(String.format("View <col=ff9040>%s Task List</col>", tier.displayName));
+		taskList.updateBounds();
+		mutationBuffer.flush();
+	}
+
+	private void select(String action)
+	{
+		HeadlessWidget widget = ui.findAction(window, action);
+		assertNotNull("No widget offers " + action, widget);
+		widget.selectAction(action);
+	}
+}
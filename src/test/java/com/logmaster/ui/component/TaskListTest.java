@@ -0,0 +1,94 @@
+package com.logmaster.ui.component;
+
+import com.logmaster.domain.SaveData;
+import com.logmaster.headless.HeadlessServices;
+import com.logmaster.headless.HeadlessUi;
+import com.logmaster.headless.TestCatalogs;
+import com.logmaster.ui.generic.MutationBuffer;
+import com.logmaster.ui.generic.WidgetPool;
+import net.runelite.api.widgets.Widget;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TaskListTest
+{
+	// Fits four rows of tasks
+	private static final int WINDOW_WIDTH = 480;
+	private static final int WINDOW_HEIGHT = 252;
+	private static final int PAGE_ROWS = 4;
+
+	private HeadlessUi ui;
+	private MutationBuffer mutationBuffer;
+	private TaskList taskList;
+
+	@Before
+	public void setUp()
+	{
+		HeadlessServices services = new HeadlessServices(TestCatalogs.perTier(50), new SaveData());
+		ui = services.getUi();
+		Widget window = ui.createWindow(WINDOW_WIDTH, WINDOW_HEIGHT);
+
+		mutationBuffer = new MutationBuffer();
+		taskList = new TaskList(window, services.getTaskService(), services.getPlugin(), services.getClientThread(),
+			services.getSaveDataManager(), new WidgetPool(mutationBuffer), services.getDiagnostics());
+		taskList.setVisibility(true);
+		taskList.updateBounds();
+		mutationBuffer.flush();
+		ui.resetCounts();
+	}
+
+	@Test
+	public void refreshWithoutScrollingWritesNothing()
+	{
+		taskList.refreshTasks(0);
+		mutationBuffer.flush();
+
+		assertEquals(0, taskList.getLastRefreshMutations());
+		assertEquals(0, ui.getSetterCalls());
+		assertEquals(0, ui.getRevalidations());
+	}
+
+	@Test
+	public void scrollingOneRowRebindsOnlyTheTileScrolledIn()
+	{
+		taskList.refreshTasks(1);
+		mutationBuffer.flush();
+
+		assertEquals(1, ui.getSetterCalls("setText"));
+		assertEquals(1, ui.getSetterCalls("setItemId"));
+		assertEquals(1, ui.getMaxRevalidationsPerWidget());
+	}
+
+	@Test
+	public void scrollingOnePageRebindsEveryVisibleTile()
+	{
+		taskList.refreshTasks(PAGE_ROWS);
+		mutationBuffer.flush();
+
+		assertEquals(PAGE_ROWS, ui.getSetterCalls("setText"));
+		assertEquals(PAGE_ROWS, ui.getSetterCalls("setItemId"));
+		assertEquals(1, ui.getMaxRevalidationsPerWidget());
+	}
+
+	@Test
+	public void scrollingAwayAndBackWithinAFrameWritesNothing()
+	{
+		for (int i = 0; i < 10; i++)
+		{
+			taskList.refreshTasks(1);
+		}
+		for (int i = 0; i < 10; i++)
+		{
+			taskList.refreshTasks(-1);
+		}
+		mutationBuffer.flush();
+
+		// Back where it started, so nothing differs from what was last applied
+		assertEquals(0, ui.getSetterCalls("setText"));
+		assertEquals(0, ui.getSetterCalls("setItemId"));
+		assertEquals(0, ui.getSetterCalls("setOriginalY"));
+		assertEquals(0, ui.getRevalidations());
+	}
+}